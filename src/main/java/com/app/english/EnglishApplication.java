@@ -1,6 +1,14 @@
 package com.app.english;
 
+import com.app.english.config.AnswerDraftProperties;
+import com.app.english.config.GradingProperties;
+import com.app.english.config.GroupRoleCacheProperties;
+import com.app.english.config.LessonCacheProperties;
 import com.app.english.config.MediaProperties;
+import com.app.english.config.PasswordHashingProperties;
+import com.app.english.config.PrincipalCacheProperties;
+import com.app.english.config.ProgressStreamProperties;
+import com.app.english.config.RateLimitProperties;
 import io.github.cdimascio.dotenv.Dotenv;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -10,7 +18,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @SpringBootApplication
-@EnableConfigurationProperties(MediaProperties.class)
+@EnableConfigurationProperties({MediaProperties.class, PrincipalCacheProperties.class, PasswordHashingProperties.class,
+		RateLimitProperties.class, LessonCacheProperties.class, GroupRoleCacheProperties.class,
+		AnswerDraftProperties.class, ProgressStreamProperties.class, GradingProperties.class})
 public class EnglishApplication {
 
 	public static void main(String[] args) {
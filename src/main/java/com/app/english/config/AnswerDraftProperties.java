@@ -0,0 +1,9 @@
+package com.app.english.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.answers.drafts")
+public record AnswerDraftProperties(
+        int batchSize,
+        int maxPending        // above this, autosaves flush synchronously instead of buffering
+) {}
@@ -0,0 +1,39 @@
+package com.app.english.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Own tiny pool for group exports, so a few long downloads can't starve interactive requests
+// of connections. Not a default candidate: the auto-configured primary DataSource stays in place
+// and only injection points asking for @Qualifier("export") get this one.
+@Configuration
+@EnableConfigurationProperties(ExportProperties.class)
+public class ExportDataSourceConfig {
+
+    @Bean(defaultCandidate = false)
+    @Qualifier("export")
+    HikariDataSource exportDataSource(
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            ExportProperties props
+    ) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("export");
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(props.poolSize());
+        config.setMinimumIdle(0);
+        config.setConnectionTimeout(props.connectionTimeout().toMillis());
+        // why: the PostgreSQL driver only honours fetchSize (a real cursor) outside autocommit.
+        config.setAutoCommit(false);
+        config.setReadOnly(true);
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,13 @@
+package com.app.english.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.export")
+public record ExportProperties(
+        int poolSize,                // concurrent exports; separate from the interactive pool
+        int fetchSize,               // rows per cursor round trip
+        Duration connectionTimeout,  // how long a new export waits for a free connection
+        long retryAfterSeconds
+) {}
@@ -0,0 +1,12 @@
+package com.app.english.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.grading")
+public record GradingProperties(
+        long keyCacheMaxSize,      // compiled answer keys kept in memory (one per task)
+        int regradeParallelism,    // fork/join workers used when a task's key changes; 0 = CPU count
+        int regradeBatchSize,      // submitted answers loaded, scored and written back per round
+        int typoMaxDistance,       // edits (after diacritic folding) still accepted in VOCAB_TYPING
+        int typoMinLength          // shorter terms get no typo allowance
+) {}
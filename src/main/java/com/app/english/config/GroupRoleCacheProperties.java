@@ -0,0 +1,11 @@
+package com.app.english.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.groups.role-cache")
+public record GroupRoleCacheProperties(
+        Duration ttl,
+        long maxSize
+) {}
@@ -5,5 +5,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "security.jwt")
 public record JwtProperties(
         String secretBase64,
-        long accessExpirationMs
+        long accessExpirationMs,
+        long verifiedCacheTtlMs,
+        long verifiedCacheMaxSize
 ) {}
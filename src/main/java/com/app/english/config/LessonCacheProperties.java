@@ -0,0 +1,9 @@
+package com.app.english.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.lessons.cache")
+public record LessonCacheProperties(
+        long structureMaxSize,     // lessons whose ordered task ids are kept in memory
+        long bundleMaxBytes        // total serialized size of cached lesson bundles (plain + gzip)
+) {}
@@ -0,0 +1,13 @@
+package com.app.english.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.auth.hashing")
+public record PasswordHashingProperties(
+        int threads,            // <= 0 => one per available CPU
+        int queueCapacity,
+        long retryAfterSeconds,
+        long targetHashMs,      // BCrypt cost is calibrated (once, after startup) to reach this
+        int minCost,            // calibration never goes below this floor
+        int maxCost
+) {}
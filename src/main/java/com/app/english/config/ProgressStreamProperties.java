@@ -0,0 +1,12 @@
+package com.app.english.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.progress-stream")
+public record ProgressStreamProperties(
+        int queueCapacity,       // per subscriber; the oldest events are dropped beyond this
+        Duration writeTimeout,   // a subscriber stuck in one send longer than this is dropped
+        Duration emitterTimeout
+) {}
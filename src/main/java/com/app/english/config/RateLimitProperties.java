@@ -0,0 +1,14 @@
+package com.app.english.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        double ipCapacity,
+        double ipRefillPerSecond,
+        double keyCapacity,         // per email / token prefix
+        double keyRefillPerSecond,
+        int stripes,
+        int maxSlotsPerStripe,
+        int maxBodyBytes
+) {}
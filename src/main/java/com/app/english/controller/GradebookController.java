@@ -0,0 +1,25 @@
+package com.app.english.controller;
+
+import com.app.english.dto.lessons.GradebookResponse;
+import com.app.english.security.AuthPrincipal;
+import com.app.english.service.GradebookService;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class GradebookController {
+
+    private final GradebookService gradebookService;
+
+    public GradebookController(GradebookService gradebookService) {
+        this.gradebookService = gradebookService;
+    }
+
+    // Teacher-only: every student x every assignment of the group in one response
+    @GetMapping("/api/groups/{groupId}/gradebook")
+    public GradebookResponse gradebook(@PathVariable Long groupId, @AuthenticationPrincipal AuthPrincipal actor) {
+        return gradebookService.getGradebook(actor.id(), groupId);
+    }
+}
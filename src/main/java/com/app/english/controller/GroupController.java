@@ -1,8 +1,10 @@
 package com.app.english.controller;
 
 import com.app.english.dto.groups.*;
+import com.app.english.security.AuthPrincipal;
 import com.app.english.service.GroupService;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -33,12 +35,12 @@ public class GroupController {
     }
 
     @GetMapping("/{groupId}")
-    public GroupDetailsResponse details(@PathVariable Long groupId, Authentication auth) {
-        return groupService.getGroupDetails(groupId, auth.getName());
+    public GroupDetailsResponse details(@PathVariable Long groupId, @AuthenticationPrincipal AuthPrincipal actor) {
+        return groupService.getGroupDetails(groupId, actor.id());
     }
 
     @PostMapping("/{groupId}/join-code/reset")
-    public JoinCodeResponse resetJoinCode(@PathVariable Long groupId, Authentication auth) {
-        return groupService.resetJoinCode(groupId, auth.getName());
+    public JoinCodeResponse resetJoinCode(@PathVariable Long groupId, @AuthenticationPrincipal AuthPrincipal actor) {
+        return groupService.resetJoinCode(groupId, actor.id());
     }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.app.english.controller;
+
+import com.app.english.security.AuthPrincipal;
+import com.app.english.service.GroupExportService;
+import com.app.english.service.GroupExportService.Format;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+@RestController
+public class GroupExportController {
+
+    private final GroupExportService groupExportService;
+
+    public GroupExportController(GroupExportService groupExportService) {
+        this.groupExportService = groupExportService;
+    }
+
+    // Teacher-only: progress + submitted answers of every student, streamed.
+    // GET /api/groups/{groupId}/export?format=csv|ndjson
+    @GetMapping("/api/groups/{groupId}/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable Long groupId,
+            @RequestParam(defaultValue = "csv") String format,
+            @AuthenticationPrincipal AuthPrincipal actor
+    ) {
+        Format f = switch (format.toLowerCase(Locale.ROOT)) {
+            case "csv" -> Format.CSV;
+            case "ndjson" -> Format.NDJSON;
+            default -> throw new IllegalArgumentException("format must be csv or ndjson");
+        };
+
+        StreamingResponseBody body = groupExportService.export(actor.id(), groupId, f);
+
+        String filename = "group-" + groupId + (f == Format.CSV ? ".csv" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(f == Format.CSV
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -1,8 +1,10 @@
 package com.app.english.controller;
 
 import com.app.english.dto.invites.*;
+import com.app.english.security.AuthPrincipal;
 import com.app.english.service.GroupInviteService;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -21,18 +23,18 @@ public class GroupInviteController {
     public InviteCreatedResponse createInvite(
             @PathVariable Long groupId,
             @RequestBody CreateInviteRequest request,
-            Authentication auth
+            @AuthenticationPrincipal AuthPrincipal actor
     ) {
-        return inviteService.createInvite(groupId, auth.getName(), request);
+        return inviteService.createInvite(groupId, actor.id(), request);
     }
 
     // Teacher-only
     @GetMapping("/api/groups/{groupId}/invites")
     public List<InviteSummaryResponse> listInvites(
             @PathVariable Long groupId,
-            Authentication auth
+            @AuthenticationPrincipal AuthPrincipal actor
     ) {
-        return inviteService.listInvites(groupId, auth.getName());
+        return inviteService.listInvites(groupId, actor.id());
     }
 
     // Teacher-only
@@ -40,9 +42,9 @@ public class GroupInviteController {
     public void revokeInvite(
             @PathVariable Long groupId,
             @PathVariable Long inviteId,
-            Authentication auth
+            @AuthenticationPrincipal AuthPrincipal actor
     ) {
-        inviteService.revokeInvite(groupId, inviteId, auth.getName());
+        inviteService.revokeInvite(groupId, inviteId, actor.id());
     }
 
     // Teacher-only
@@ -50,9 +52,9 @@ public class GroupInviteController {
     public InviteCreatedResponse recreateInvite(
             @PathVariable Long groupId,
             @PathVariable Long inviteId,
-            Authentication auth
+            @AuthenticationPrincipal AuthPrincipal actor
     ) {
-        return inviteService.recreateInvite(groupId, inviteId, auth.getName());
+        return inviteService.recreateInvite(groupId, inviteId, actor.id());
     }
 
     // Accept invite (authenticated user).
@@ -67,9 +69,10 @@ public class GroupInviteController {
     @PostMapping("/api/invites/preview")
     public InvitePreviewResponse preview(
             @RequestBody InvitePreviewRequest request,
-            Authentication auth
+            @AuthenticationPrincipal AuthPrincipal actor
     ) {
-        String emailOrNull = (auth == null) ? null : auth.getName();
-        return inviteService.preview(request.token(), emailOrNull);
+        // anonymous callers resolve to null here
+        Long actorIdOrNull = (actor == null) ? null : actor.id();
+        return inviteService.preview(request.token(), actorIdOrNull);
     }
 }
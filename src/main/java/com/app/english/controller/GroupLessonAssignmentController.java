@@ -1,12 +1,13 @@
 package com.app.english.controller;
 
 import com.app.english.dto.lessons.*;
+import com.app.english.security.AuthPrincipal;
 import com.app.english.service.LessonService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -26,9 +27,9 @@ public class GroupLessonAssignmentController {
             @PathVariable Long groupId,
             @PathVariable Long lessonId,
             @Valid @RequestBody AssignLessonRequest req,
-            Authentication auth
+            @AuthenticationPrincipal AuthPrincipal actor
     ) {
-        return lessonService.assignToGroupOrUser(auth.getName(), groupId, lessonId, req);
+        return lessonService.assignToGroupOrUser(actor.id(), groupId, lessonId, req);
     }
 
     @GetMapping("/assignments")
@@ -36,9 +37,9 @@ public class GroupLessonAssignmentController {
             @PathVariable Long groupId,
             @RequestParam(required = false) Long userId,
             Pageable pageable,
-            Authentication auth
+            @AuthenticationPrincipal AuthPrincipal actor
     ) {
-        return lessonService.pageTeacherAssignments(auth.getName(), groupId, userId, pageable);
+        return lessonService.pageTeacherAssignments(actor.id(), groupId, userId, pageable);
     }
 
     // Drag & drop reorder (bucket-specific):
@@ -48,18 +49,29 @@ public class GroupLessonAssignmentController {
     public void reorder(
             @PathVariable Long groupId,
             @Valid @RequestBody ReorderLessonAssignmentsRequest req,
-            Authentication auth
+            @AuthenticationPrincipal AuthPrincipal actor
     ) {
-        lessonService.reorderAssignmentsForGroup(auth.getName(), groupId, req);
+        lessonService.reorderAssignmentsForGroup(actor.id(), groupId, req);
+    }
+
+    // Move one assignment between two neighbours of its bucket (only that row is updated)
+    @PutMapping("/assignments/{assignmentId}/position")
+    public LessonAssignmentResponse move(
+            @PathVariable Long groupId,
+            @PathVariable Long assignmentId,
+            @RequestBody MoveLessonAssignmentRequest req,
+            @AuthenticationPrincipal AuthPrincipal actor
+    ) {
+        return lessonService.moveAssignment(actor.id(), groupId, assignmentId, req);
     }
 
     @DeleteMapping("/assignments/{assignmentId}")
     public ResponseEntity<Void> unassign(
             @PathVariable Long groupId,
             @PathVariable Long assignmentId,
-            Authentication auth
+            @AuthenticationPrincipal AuthPrincipal actor
     ) {
-        lessonService.unassignLesson(auth.getName(), groupId, assignmentId);
+        lessonService.unassignLesson(actor.id(), groupId, assignmentId);
         return ResponseEntity.noContent().build();
     }
 
@@ -68,18 +80,18 @@ public class GroupLessonAssignmentController {
             @PathVariable Long groupId,
             @PathVariable Long assignmentId,
             @RequestBody UpdateLessonAssignmentRequest req,
-            Authentication auth
+            @AuthenticationPrincipal AuthPrincipal actor
     ) {
-        return lessonService.updateAssignment(auth.getName(), groupId, assignmentId, req);
+        return lessonService.updateAssignment(actor.id(), groupId, assignmentId, req);
     }
 
     @PostMapping("/assignments/bulk")
     public BulkAssignLessonsResponse bulkAssign(
             @PathVariable Long groupId,
             @RequestBody BulkAssignLessonsRequest req,
-            Authentication auth
+            @AuthenticationPrincipal AuthPrincipal actor
     ) {
-        return lessonService.bulkAssignLessons(auth.getName(), groupId, req);
+        return lessonService.bulkAssignLessons(actor.id(), groupId, req);
     }
 }
 
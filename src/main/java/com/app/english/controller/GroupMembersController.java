@@ -1,8 +1,9 @@
 package com.app.english.controller;
 
 import com.app.english.dto.groups.MemberResponse;
+import com.app.english.security.AuthPrincipal;
 import com.app.english.service.GroupService;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -19,19 +20,19 @@ public class GroupMembersController {
 
     // Teacher-only
     @GetMapping
-    public List<MemberResponse> list(@PathVariable Long groupId, Authentication auth) {
-        return groupService.listMembers(groupId, auth.getName());
+    public List<MemberResponse> list(@PathVariable Long groupId, @AuthenticationPrincipal AuthPrincipal actor) {
+        return groupService.listMembers(groupId, actor.id());
     }
 
     // Remove user from group (policy in service)
     @DeleteMapping("/remove/{userId}")
-    public void remove(@PathVariable Long groupId, @PathVariable Long userId, Authentication auth) {
-        groupService.removeMember(groupId, userId, auth.getName());
+    public void remove(@PathVariable Long groupId, @PathVariable Long userId, @AuthenticationPrincipal AuthPrincipal actor) {
+        groupService.removeMember(groupId, userId, actor.id());
     }
 
     // Self-leave shortcut
     @PostMapping("/leave")
-    public void leave(@PathVariable Long groupId, Authentication auth) {
-        groupService.leaveGroup(groupId, auth.getName());
+    public void leave(@PathVariable Long groupId, @AuthenticationPrincipal AuthPrincipal actor) {
+        groupService.leaveGroup(groupId, actor.id());
     }
 }
@@ -1,18 +1,21 @@
 package com.app.english.controller;
 
-import com.app.english.dto.lessons.LessonTaskAnswerRequest;
 import com.app.english.dto.lessons.LessonTaskAnswerResponse;
+import com.app.english.security.AuthPrincipal;
+import com.app.english.service.AnswerJsonReader;
 import com.app.english.service.LessonAnswerService;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 public class LessonAnswerController {
 
     private final LessonAnswerService lessonAnswerService;
+    private final AnswerJsonReader answerJsonReader;
 
-    public LessonAnswerController(LessonAnswerService lessonAnswerService) {
+    public LessonAnswerController(LessonAnswerService lessonAnswerService, AnswerJsonReader answerJsonReader) {
         this.lessonAnswerService = lessonAnswerService;
+        this.answerJsonReader = answerJsonReader;
     }
 
     // Student: my answer
@@ -20,29 +23,29 @@ public class LessonAnswerController {
     public LessonTaskAnswerResponse getMy(
             @PathVariable Long assignmentId,
             @PathVariable Long taskId,
-            Authentication auth
+            @AuthenticationPrincipal AuthPrincipal actor
     ) {
-        return lessonAnswerService.getMyAnswer(auth.getName(), assignmentId, taskId);
+        return lessonAnswerService.getMyAnswer(actor.id(), assignmentId, taskId);
     }
 
     @PutMapping("/api/lesson-assignments/{assignmentId}/tasks/{taskId}/answer")
     public LessonTaskAnswerResponse saveDraft(
             @PathVariable Long assignmentId,
             @PathVariable Long taskId,
-            @RequestBody LessonTaskAnswerRequest req,
-            Authentication auth
+            @RequestBody byte[] body, // {"answer": <any JSON>}, read raw
+            @AuthenticationPrincipal AuthPrincipal actor
     ) {
-        return lessonAnswerService.saveDraft(auth.getName(), assignmentId, taskId, req);
+        return lessonAnswerService.saveDraft(actor.id(), assignmentId, taskId, answerJsonReader.readAnswer(body));
     }
 
     @PostMapping("/api/lesson-assignments/{assignmentId}/tasks/{taskId}/submit")
     public LessonTaskAnswerResponse submit(
             @PathVariable Long assignmentId,
             @PathVariable Long taskId,
-            @RequestBody LessonTaskAnswerRequest req,
-            Authentication auth
+            @RequestBody byte[] body, // {"answer": <any JSON>}, read raw
+            @AuthenticationPrincipal AuthPrincipal actor
     ) {
-        return lessonAnswerService.submit(auth.getName(), assignmentId, taskId, req);
+        return lessonAnswerService.submit(actor.id(), assignmentId, taskId, answerJsonReader.readAnswer(body));
     }
 
     // Teacher: view student's answer (read-only)
@@ -53,8 +56,8 @@ public class LessonAnswerController {
             @PathVariable Long assignmentId,
             @PathVariable Long taskId,
             @RequestParam Long userId,
-            Authentication auth
+            @AuthenticationPrincipal AuthPrincipal actor
     ) {
-        return lessonAnswerService.getStudentAnswer(auth.getName(), groupId, assignmentId, taskId, userId);
+        return lessonAnswerService.getStudentAnswer(actor.id(), groupId, assignmentId, taskId, userId);
     }
 }
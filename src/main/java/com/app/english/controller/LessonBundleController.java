@@ -0,0 +1,100 @@
+package com.app.english.controller;
+
+import com.app.english.security.AuthPrincipal;
+import com.app.english.service.LessonBundleCache.CachedBundle;
+import com.app.english.service.LessonBundleService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+public class LessonBundleController {
+
+    private final LessonBundleService lessonBundleService;
+
+    public LessonBundleController(LessonBundleService lessonBundleService) {
+        this.lessonBundleService = lessonBundleService;
+    }
+
+    // Student: the whole lesson (items, task payloads, vocabulary, media refs) as one cached document.
+    // Clients revalidate with If-None-Match and get 304 while the lesson is unchanged.
+    @GetMapping("/api/lesson-assignments/{assignmentId}/bundle")
+    public ResponseEntity<byte[]> bundle(
+            @PathVariable Long assignmentId,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @AuthenticationPrincipal AuthPrincipal actor
+    ) {
+        CachedBundle b = lessonBundleService.getBundle(actor.id(), assignmentId);
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? b.gzipEtag() : b.etag();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
+
+        if (matches(ifNoneMatch, b)) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return new ResponseEntity<>(b.gzip(), headers, HttpStatus.OK);
+        }
+        return new ResponseEntity<>(b.json(), headers, HttpStatus.OK);
+    }
+
+    // RFC 9110 Accept-Encoding: "gzip" (or "x-gzip") with q > 0, or "*" with q > 0 when gzip
+    // is not listed itself. "gzip;q=0" is an explicit refusal.
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        Boolean gzip = null;
+        boolean wildcard = false;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean allowed = qualityOf(parts) > 0d;
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = (gzip == null) ? allowed : gzip || allowed;
+            } else if (coding.equals("*")) {
+                wildcard = allowed;
+            }
+        }
+        return (gzip != null) ? gzip : wildcard;
+    }
+
+    // q parameter of one Accept-Encoding element; 1 when absent, 0 when malformed.
+    private static double qualityOf(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String p = parts[i].trim();
+            if (p.length() < 2 || Character.toLowerCase(p.charAt(0)) != 'q' || p.charAt(1) != '=') continue;
+            try {
+                return Double.parseDouble(p.substring(2).trim());
+            } catch (NumberFormatException e) {
+                return 0d;
+            }
+        }
+        return 1d;
+    }
+
+    // why: either variant's tag means the client holds the current content.
+    private boolean matches(String ifNoneMatch, CachedBundle b) {
+        if (ifNoneMatch == null) return false;
+        for (String tag : ifNoneMatch.split(",")) {
+            String t = tag.trim();
+            if (t.startsWith("W/")) t = t.substring(2);
+            if (t.equals("*") || t.equals(b.etag()) || t.equals(b.gzipEtag())) return true;
+        }
+        return false;
+    }
+}
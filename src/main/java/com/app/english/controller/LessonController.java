@@ -1,12 +1,14 @@
 package com.app.english.controller;
 
+import com.app.english.dto.CursorSlice;
 import com.app.english.dto.lessons.*;
+import com.app.english.security.AuthPrincipal;
 import com.app.english.service.LessonService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -20,8 +22,8 @@ public class LessonController {
     }
 
     @PostMapping
-    public LessonResponse create(@Valid @RequestBody CreateLessonRequest req, Authentication auth) {
-        return lessonService.create(auth.getName(), req);
+    public LessonResponse create(@Valid @RequestBody CreateLessonRequest req, @AuthenticationPrincipal AuthPrincipal actor) {
+        return lessonService.create(actor.id(), req);
     }
 
     @GetMapping
@@ -29,42 +31,71 @@ public class LessonController {
             @RequestParam(defaultValue = "false") boolean includeArchived,
             @RequestParam(required = false) String q,
             Pageable pageable,
-            Authentication auth
+            @AuthenticationPrincipal AuthPrincipal actor
     ) {
-        return lessonService.listMine(auth.getName(), pageable, includeArchived, q);
+        return lessonService.listMine(actor.id(), pageable, includeArchived, q);
     }
 
     @GetMapping("/{lessonId}")
-    public LessonResponse get(@PathVariable Long lessonId, Authentication auth) {
-        return lessonService.get(auth.getName(), lessonId);
+    public LessonResponse get(@PathVariable Long lessonId, @AuthenticationPrincipal AuthPrincipal actor) {
+        return lessonService.get(actor.id(), lessonId);
     }
 
     @PutMapping("/{lessonId}")
-    public LessonResponse update(@PathVariable Long lessonId, @Valid @RequestBody UpdateLessonRequest req, Authentication auth) {
-        return lessonService.update(auth.getName(), lessonId, req);
+    public LessonResponse update(@PathVariable Long lessonId, @Valid @RequestBody UpdateLessonRequest req, @AuthenticationPrincipal AuthPrincipal actor) {
+        return lessonService.update(actor.id(), lessonId, req);
     }
 
     // Replaces the entire lesson content with a new ordered list of task ids.
     @PutMapping("/{lessonId}/items")
-    public LessonResponse replaceItems(@PathVariable Long lessonId, @Valid @RequestBody ReplaceLessonItemsRequest req, Authentication auth) {
-        return lessonService.replaceItems(auth.getName(), lessonId, req);
+    public LessonResponse replaceItems(@PathVariable Long lessonId, @Valid @RequestBody ReplaceLessonItemsRequest req, @AuthenticationPrincipal AuthPrincipal actor) {
+        return lessonService.replaceItems(actor.id(), lessonId, req);
     }
 
     // Student tab: group-wide (across my groups)
     @GetMapping("/assignments/me/group")
-    public Page<LessonAssignmentResponse> myGroupAssignments(Authentication auth, Pageable pageable) {
-        return lessonService.pageMyGroupWideAssignments(auth.getName(), pageable);
+    public Page<LessonAssignmentResponse> myGroupAssignments(@AuthenticationPrincipal AuthPrincipal actor, Pageable pageable) {
+        return lessonService.pageMyGroupWideAssignments(actor.id(), pageable);
     }
 
     // Student tab: personal (assigned specifically to me)
     @GetMapping("/assignments/me/personal")
-    public Page<LessonAssignmentResponse> myPersonalAssignments(Authentication auth, Pageable pageable) {
-        return lessonService.pageMyPersonalAssignments(auth.getName(), pageable);
+    public Page<LessonAssignmentResponse> myPersonalAssignments(@AuthenticationPrincipal AuthPrincipal actor, Pageable pageable) {
+        return lessonService.pageMyPersonalAssignments(actor.id(), pageable);
+    }
+
+    // Student tab feeds: cursor-paginated variants of the two lists above (no COUNT, constant cost per page)
+    @GetMapping("/assignments/me/group/feed")
+    public CursorSlice<LessonAssignmentResponse> myGroupAssignmentsFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal AuthPrincipal actor
+    ) {
+        return lessonService.feedMyGroupWideAssignments(actor.id(), cursor, size);
+    }
+
+    @GetMapping("/assignments/me/personal/feed")
+    public CursorSlice<LessonAssignmentResponse> myPersonalAssignmentsFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal AuthPrincipal actor
+    ) {
+        return lessonService.feedMyPersonalAssignments(actor.id(), cursor, size);
+    }
+
+    // Student dashboard: both tabs merged, with done/total/status per assignment
+    @GetMapping("/assignments/me/home")
+    public CursorSlice<StudentHomeItem> myHome(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal AuthPrincipal actor
+    ) {
+        return lessonService.home(actor.id(), cursor, size);
     }
 
     @DeleteMapping("/{lessonId}")
-    public ResponseEntity<Void> archive(@PathVariable Long lessonId, Authentication auth) {
-        lessonService.archive(auth.getName(), lessonId);
+    public ResponseEntity<Void> archive(@PathVariable Long lessonId, @AuthenticationPrincipal AuthPrincipal actor) {
+        lessonService.archive(actor.id(), lessonId);
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,9 +1,14 @@
 package com.app.english.controller;
 
+import com.app.english.dto.lessons.CompleteTasksRequest;
 import com.app.english.dto.lessons.LessonProgressResponse;
+import com.app.english.security.AuthPrincipal;
 import com.app.english.service.LessonProgressService;
-import org.springframework.security.core.Authentication;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 public class LessonProgressController {
@@ -16,18 +21,28 @@ public class LessonProgressController {
 
     // Student: my progress
     @GetMapping("/api/lesson-assignments/{assignmentId}/progress")
-    public LessonProgressResponse getProgress(@PathVariable Long assignmentId, Authentication auth) {
-        return lessonProgressService.getProgress(auth.getName(), assignmentId);
+    public LessonProgressResponse getProgress(@PathVariable Long assignmentId, @AuthenticationPrincipal AuthPrincipal actor) {
+        return lessonProgressService.getProgress(actor.id(), assignmentId);
     }
 
     @PostMapping("/api/lesson-assignments/{assignmentId}/tasks/{taskId}/complete")
-    public LessonProgressResponse completeTask(@PathVariable Long assignmentId, @PathVariable Long taskId, Authentication auth) {
-        return lessonProgressService.markTaskCompleted(auth.getName(), assignmentId, taskId);
+    public LessonProgressResponse completeTask(@PathVariable Long assignmentId, @PathVariable Long taskId, @AuthenticationPrincipal AuthPrincipal actor) {
+        return lessonProgressService.markTaskCompleted(actor.id(), assignmentId, taskId);
+    }
+
+    // Batch: many task ids in one request, e.g. replayed after the client was offline
+    @PostMapping("/api/lesson-assignments/{assignmentId}/tasks/complete")
+    public LessonProgressResponse completeTasks(
+            @PathVariable Long assignmentId,
+            @Valid @RequestBody CompleteTasksRequest req,
+            @AuthenticationPrincipal AuthPrincipal actor
+    ) {
+        return lessonProgressService.markTasksCompleted(actor.id(), assignmentId, req.taskIds());
     }
 
     @PostMapping("/api/lesson-assignments/{assignmentId}/complete")
-    public LessonProgressResponse completeLesson(@PathVariable Long assignmentId, Authentication auth) {
-        return lessonProgressService.markLessonCompleted(auth.getName(), assignmentId);
+    public LessonProgressResponse completeLesson(@PathVariable Long assignmentId, @AuthenticationPrincipal AuthPrincipal actor) {
+        return lessonProgressService.markLessonCompleted(actor.id(), assignmentId);
     }
 
     // Teacher: view student's progress (read-only)
@@ -37,8 +52,14 @@ public class LessonProgressController {
             @PathVariable Long groupId,
             @PathVariable Long assignmentId,
             @RequestParam Long userId,
-            Authentication auth
+            @AuthenticationPrincipal AuthPrincipal actor
     ) {
-        return lessonProgressService.getProgressForStudent(auth.getName(), groupId, assignmentId, userId);
+        return lessonProgressService.getProgressForStudent(actor.id(), groupId, assignmentId, userId);
+    }
+
+    // Teacher: server-sent events with every completion / submission in the group
+    @GetMapping(path = "/api/groups/{groupId}/progress/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamGroupProgress(@PathVariable Long groupId, @AuthenticationPrincipal AuthPrincipal actor) {
+        return lessonProgressService.subscribeToGroup(actor.id(), groupId);
     }
-}
\ No newline at end of file
+}
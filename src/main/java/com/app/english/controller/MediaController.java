@@ -2,13 +2,14 @@ package com.app.english.controller;
 
 import com.app.english.dto.media.MediaInfoResponse;
 import com.app.english.dto.media.MediaUploadResponse;
+import com.app.english.security.AuthPrincipal;
 import com.app.english.service.MediaService;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -26,20 +27,20 @@ public class MediaController {
 
     // Uploads a private media file (JWT required). Returns media id + URL.
     @PostMapping(consumes = org.springframework.http.MediaType.MULTIPART_FORM_DATA_VALUE)
-    public MediaUploadResponse upload(@RequestPart("file") MultipartFile file, Authentication auth) {
-        return mediaService.upload(auth.getName(), file);
+    public MediaUploadResponse upload(@RequestPart("file") MultipartFile file, @AuthenticationPrincipal AuthPrincipal actor) {
+        return mediaService.upload(actor.id(), file);
     }
 
     // Metadata (JWT required).
     @GetMapping("/{id}/info")
-    public MediaInfoResponse info(@PathVariable @NotNull Long id, Authentication auth) {
-        return mediaService.info(auth.getName(), id);
+    public MediaInfoResponse info(@PathVariable @NotNull Long id, @AuthenticationPrincipal AuthPrincipal actor) {
+        return mediaService.info(actor.id(), id);
     }
 
     // Serves the file (JWT required).
     @GetMapping("/{id}")
-    public ResponseEntity<org.springframework.core.io.Resource> get(@PathVariable @NotNull Long id, Authentication auth) {
-        var loaded = mediaService.load(auth.getName(), id);
+    public ResponseEntity<org.springframework.core.io.Resource> get(@PathVariable @NotNull Long id, @AuthenticationPrincipal AuthPrincipal actor) {
+        var loaded = mediaService.load(actor.id(), id);
 
         return ResponseEntity.ok()
                 .contentType(MediaType.parseMediaType(loaded.contentType()))
@@ -51,8 +52,8 @@ public class MediaController {
 
     // Deletes the file (owner only).
     @DeleteMapping("/{id}")
-    public void delete(@PathVariable @NotNull Long id, Authentication auth) {
-        mediaService.delete(auth.getName(), id);
+    public void delete(@PathVariable @NotNull Long id, @AuthenticationPrincipal AuthPrincipal actor) {
+        mediaService.delete(actor.id(), id);
     }
 
     private String safeFilename(String s) {
@@ -6,11 +6,12 @@ import com.app.english.dto.tasks.TaskResponse;
 import com.app.english.dto.tasks.UpdateTaskRequest;
 import com.app.english.models.TaskStatus;
 import com.app.english.models.TaskType;
+import com.app.english.security.AuthPrincipal;
 import com.app.english.service.TaskService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -25,8 +26,8 @@ public class TaskController {
 
     // Creates a reusable task (vocab-based or non-vocab).
     @PostMapping
-    public TaskResponse create(@Valid @RequestBody CreateTaskRequest request, Authentication auth) {
-        return taskService.create(auth.getName(), request);
+    public TaskResponse create(@Valid @RequestBody CreateTaskRequest request, @AuthenticationPrincipal AuthPrincipal actor) {
+        return taskService.create(actor.id(), request);
     }
 
     // Searches tasks in the user's private library.
@@ -36,19 +37,19 @@ public class TaskController {
             @RequestParam(required = false) TaskType type,
             @RequestParam(required = false) TaskStatus status,
             Pageable pageable,
-            Authentication auth
+            @AuthenticationPrincipal AuthPrincipal actor
     ) {
-        return taskService.searchMine(auth.getName(), q, type, status, pageable);
+        return taskService.searchMine(actor.id(), q, type, status, pageable);
     }
 
     @GetMapping("/{taskId}")
-    public TaskResponse get(@PathVariable Long taskId, Authentication auth) {
-        return taskService.get(auth.getName(), taskId);
+    public TaskResponse get(@PathVariable Long taskId, @AuthenticationPrincipal AuthPrincipal actor) {
+        return taskService.get(actor.id(), taskId);
     }
 
     @PutMapping("/{taskId}")
-    public TaskResponse update(@PathVariable Long taskId, @Valid @RequestBody UpdateTaskRequest request, Authentication auth) {
-        return taskService.update(auth.getName(), taskId, request);
+    public TaskResponse update(@PathVariable Long taskId, @Valid @RequestBody UpdateTaskRequest request, @AuthenticationPrincipal AuthPrincipal actor) {
+        return taskService.update(actor.id(), taskId, request);
     }
 
     // Replaces vocab items for vocab-based tasks. Non-vocab tasks can leave it empty.
@@ -56,13 +57,13 @@ public class TaskController {
     public TaskResponse replaceVocabulary(
             @PathVariable Long taskId,
             @Valid @RequestBody ReplaceTaskVocabularyRequest request,
-            Authentication auth
+            @AuthenticationPrincipal AuthPrincipal actor
     ) {
-        return taskService.replaceVocabulary(auth.getName(), taskId, request);
+        return taskService.replaceVocabulary(actor.id(), taskId, request);
     }
 
     @DeleteMapping("/{taskId}")
-    public void delete(@PathVariable Long taskId, Authentication auth) {
-        taskService.delete(auth.getName(), taskId);
+    public void delete(@PathVariable Long taskId, @AuthenticationPrincipal AuthPrincipal actor) {
+        taskService.delete(actor.id(), taskId);
     }
 }
@@ -0,0 +1,9 @@
+package com.app.english.dto;
+
+import java.util.List;
+
+// One page of a keyset-paginated feed; nextCursor is null on the last page.
+public record CursorSlice<T>(
+        List<T> items,
+        String nextCursor
+) {}
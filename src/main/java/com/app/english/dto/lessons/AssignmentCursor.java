@@ -0,0 +1,33 @@
+package com.app.english.dto.lessons;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Position after the last returned row in the student assignment feeds, matching their sort:
+// group id asc, display order asc, id asc. Opaque to clients.
+public record AssignmentCursor(
+        long groupId,
+        long displayOrder,
+        long id
+) {
+
+    public static AssignmentCursor after(LessonAssignmentResponse last) {
+        return new AssignmentCursor(last.groupId(), last.displayOrder(), last.id());
+    }
+
+    public String encode() {
+        String raw = groupId + ":" + displayOrder + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AssignmentCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] p = raw.split(":");
+            if (p.length != 3) throw new IllegalArgumentException();
+            return new AssignmentCursor(Long.parseLong(p[0]), Long.parseLong(p[1]), Long.parseLong(p[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
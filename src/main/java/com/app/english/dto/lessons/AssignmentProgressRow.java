@@ -0,0 +1,9 @@
+package com.app.english.dto.lessons;
+
+import com.app.english.models.LessonProgressStatus;
+
+public record AssignmentProgressRow(
+        Long assignmentId,
+        LessonProgressStatus status,
+        long doneCount
+) {}
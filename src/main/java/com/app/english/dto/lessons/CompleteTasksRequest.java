@@ -0,0 +1,11 @@
+package com.app.english.dto.lessons;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record CompleteTasksRequest(
+        // why: a lesson never has this many items; caps the set / mask work one request can cause.
+        @NotEmpty @Size(max = 500) List<Long> taskIds
+) {}
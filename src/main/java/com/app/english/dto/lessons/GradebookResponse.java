@@ -0,0 +1,31 @@
+package com.app.english.dto.lessons;
+
+import java.util.List;
+
+// Students x assignments matrix for one group. Cells are flattened row-major into parallel
+// arrays (cell index = studentIndex * assignments.size() + assignmentIndex) so thousands of
+// cells serialize as a few number lists instead of thousands of objects.
+public record GradebookResponse(
+        Long groupId,
+        List<Student> students,
+        List<Column> assignments,
+        List<String> statuses, // legend for status: status[i] = k means statuses.get(k)
+        int[] status,         // -1 = not assigned to this student, else an index into statuses
+        int[] done,           // distinct lesson tasks completed
+        long[] lastActivity   // epoch millis of the last progress change, 0 = none
+) {
+
+    public record Student(
+            Long userId,
+            String email
+    ) {}
+
+    public record Column(
+            Long assignmentId,
+            Long lessonId,
+            String lessonTitle,
+            Long assignedToUserId, // null for group-wide assignments
+            int totalCount,
+            long notStartedCount
+    ) {}
+}
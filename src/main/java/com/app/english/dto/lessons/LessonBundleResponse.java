@@ -0,0 +1,53 @@
+package com.app.english.dto.lessons;
+
+import com.app.english.models.LessonItemType;
+import com.app.english.models.MediaType;
+import com.app.english.models.TaskType;
+
+import java.util.List;
+import java.util.Map;
+
+// Everything a student needs to render a lesson, in one document.
+// Vocabulary and media are listed once and referenced by id from tasks / entries.
+public record LessonBundleResponse(
+        Long lessonId,
+        String title,
+        String description,
+        List<Item> items,
+        List<VocabularyEntry> vocabulary,
+        List<MediaRef> media
+) {
+
+    public record Item(
+            int position,
+            LessonItemType itemType,
+            BundleTask task // null for non-task items
+    ) {}
+
+    public record BundleTask(
+            Long id,
+            String title,
+            TaskType type,
+            Map<String, Object> payload,
+            List<Long> vocabularyIds
+    ) {}
+
+    // The answer side (term and example) is null for words a VOCAB_TYPING task in this
+    // lesson asks the student to type.
+    public record VocabularyEntry(
+            Long id,
+            String termEn,
+            String termPl,
+            String exampleEn,
+            String examplePl,
+            Long imageMediaId,
+            Long audioMediaId
+    ) {}
+
+    public record MediaRef(
+            Long id,
+            MediaType type,
+            String contentType,
+            String url
+    ) {}
+}
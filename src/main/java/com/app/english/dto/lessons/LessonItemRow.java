@@ -0,0 +1,11 @@
+package com.app.english.dto.lessons;
+
+import com.app.english.models.LessonItemType;
+
+// Read-only projection of a lesson item, for listing many lessons without loading entities.
+public record LessonItemRow(
+        Long lessonId,
+        int position,
+        LessonItemType itemType,
+        Long taskId
+) {}
@@ -1,3 +0,0 @@
-package com.app.english.dto.lessons;
-
-public record LessonTaskAnswerRequest(Object answer) {}
@@ -1,15 +1,19 @@
 package com.app.english.dto.lessons;
 
 import com.app.english.models.LessonAnswerStatus;
+import com.fasterxml.jackson.annotation.JsonRawValue;
 
 import java.time.Instant;
 
+// answer is the stored JSON text, written into the response as-is.
 public record LessonTaskAnswerResponse(
         Long assignmentId,
         Long taskId,
         LessonAnswerStatus status,
-        Object answer,
+        @JsonRawValue String answer,
         Instant updatedAt,
-        Instant submittedAt
+        Instant submittedAt,
+        Integer score,        // null until a submit of an auto-graded task type
+        Integer maxScore,
+        @JsonRawValue String nearMisses   // items accepted despite accents / a typo, e.g. {"12":"TYPO"}
 ) {}
-
@@ -0,0 +1,8 @@
+package com.app.english.dto.lessons;
+
+// Place one assignment between two neighbours of the same bucket.
+// aboveId=null => move to the top; belowId=null => move to the bottom.
+public record MoveLessonAssignmentRequest(
+        Long aboveId,
+        Long belowId
+) {}
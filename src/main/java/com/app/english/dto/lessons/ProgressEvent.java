@@ -0,0 +1,26 @@
+package com.app.english.dto.lessons;
+
+import com.app.english.models.LessonProgressStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+// Delta pushed to teachers watching a group's live progress stream.
+public record ProgressEvent(
+        Type type,
+        Long groupId,
+        Long assignmentId,
+        Long userId,
+        List<Long> taskIds,         // tasks completed / answered by this change
+        LessonProgressStatus status,
+        int doneCount,
+        int totalCount,
+        Instant occurredAt
+) {
+
+    public enum Type {
+        TASK_COMPLETED,
+        ANSWER_SUBMITTED,
+        LESSON_COMPLETED
+    }
+}
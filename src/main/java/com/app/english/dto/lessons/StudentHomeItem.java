@@ -0,0 +1,11 @@
+package com.app.english.dto.lessons;
+
+import com.app.english.models.LessonProgressStatus;
+
+// One row of the student dashboard: the assignment plus my progress summary on it.
+public record StudentHomeItem(
+        LessonAssignmentResponse assignment,
+        LessonProgressStatus status,
+        int doneCount,
+        int totalCount
+) {}
@@ -1,8 +1,8 @@
 package com.app.english.filter;
 
-import com.app.english.models.User;
-import com.app.english.repository.UserRepository;
+import com.app.english.security.AuthPrincipal;
 import com.app.english.service.JwtService;
+import com.app.english.service.UserPrincipalCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,11 +20,11 @@ import java.util.List;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final UserPrincipalCache principalCache;
 
-    public JwtAuthFilter(JwtService jwtService, UserRepository userRepository) {
+    public JwtAuthFilter(JwtService jwtService, UserPrincipalCache principalCache) {
         this.jwtService = jwtService;
-        this.userRepository = userRepository;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -48,22 +48,32 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         String token = header.substring(7);
 
-        if (!jwtService.isTokenValid(token)) {
+        var claims = jwtService.verify(token).orElse(null);
+        if (claims == null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        String email = jwtService.extractEmail(token);
-        String role = jwtService.extractRole(token);
+        String email = claims.email();
 
-        User user = userRepository.findByEmail(email).orElse(null);
-        if (user == null) {
+        var cached = principalCache.resolve(email).orElse(null);
+        if (cached == null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
-        var auth = new UsernamePasswordAuthenticationToken(email, null, authorities);
+        // why: a token minted for a deleted-and-recreated account must not carry over.
+        if (claims.userId() != null && !claims.userId().equals(cached.id())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Tokens without the "uid" claim (issued before it existed) fall back to the cached id.
+        var principal = new AuthPrincipal(cached.id(), cached.email(), cached.role());
+
+        // why: role comes from the (cached) user row, so a role change takes effect on eviction.
+        var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + principal.role().name()));
+        var auth = new UsernamePasswordAuthenticationToken(principal, null, authorities);
 
         SecurityContextHolder.getContext().setAuthentication(auth);
         filterChain.doFilter(request, response);
@@ -0,0 +1,242 @@
+package com.app.english.filter;
+
+import com.app.english.config.RateLimitProperties;
+import com.app.english.security.StripedTokenBucketLimiter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Locale;
+
+// Throttles the unauthenticated endpoints that cost a BCrypt hash or a DB round trip,
+// before Spring Security or the controllers do any work. Two buckets must both allow
+// the request: one per client IP and one per email / token prefix.
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String REFRESH_COOKIE = "refresh_token";
+    private static final int TOKEN_PREFIX_LENGTH = 16;
+
+    private final StripedTokenBucketLimiter ipLimiter;
+    private final StripedTokenBucketLimiter keyLimiter;
+    private final ObjectMapper objectMapper;
+    private final int maxBodyBytes;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimitProperties props, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.ipLimiter = new StripedTokenBucketLimiter(
+                props.ipCapacity(), props.ipRefillPerSecond(), props.stripes(), props.maxSlotsPerStripe());
+        this.keyLimiter = new StripedTokenBucketLimiter(
+                props.keyCapacity(), props.keyRefillPerSecond(), props.stripes(), props.maxSlotsPerStripe());
+        this.objectMapper = objectMapper;
+        this.maxBodyBytes = props.maxBodyBytes();
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("auth.ratelimit.buckets", ipLimiter, StripedTokenBucketLimiter::size)
+                .tag("scope", "ip").register(meterRegistry);
+        Gauge.builder("auth.ratelimit.buckets", keyLimiter, StripedTokenBucketLimiter::size)
+                .tag("scope", "key").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return endpoint(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String endpoint = endpoint(request);
+
+        long waitNanos = ipLimiter.tryAcquire(endpointGroup(endpoint) + "|" + request.getRemoteAddr());
+        if (waitNanos > 0) {
+            reject(response, endpoint, waitNanos);
+            return;
+        }
+
+        HttpServletRequest forwarded = request;
+        String key = null;
+
+        if ("refresh".equals(endpoint)) {
+            key = prefix(cookie(request, REFRESH_COOKIE));
+        } else {
+            byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+            if (body.length > maxBodyBytes) {
+                response.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                return;
+            }
+            forwarded = new CachedBodyRequest(request, body);
+
+            String field = "preview".equals(endpoint) ? "token" : "email";
+            String value = jsonField(body, field);
+            key = "preview".equals(endpoint) ? prefix(value) : normalizeEmail(value);
+        }
+
+        if (key != null) {
+            waitNanos = keyLimiter.tryAcquire(endpoint + "|" + key);
+            if (waitNanos > 0) {
+                reject(response, endpoint, waitNanos);
+                return;
+            }
+        }
+
+        filterChain.doFilter(forwarded, response);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms}")
+    void evictIdleBuckets() {
+        ipLimiter.evictIdle();
+        keyLimiter.evictIdle();
+    }
+
+    private String endpoint(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) return null;
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return switch (path) {
+            case "/api/auth/login" -> "login";
+            case "/api/auth/register" -> "register";
+            case "/api/auth/refresh" -> "refresh";
+            case "/api/invites/preview" -> "preview";
+            default -> null;
+        };
+    }
+
+    // why: login and register both burn a BCrypt hash, so they share one IP budget.
+    private String endpointGroup(String endpoint) {
+        return ("login".equals(endpoint) || "register".equals(endpoint)) ? "hash" : endpoint;
+    }
+
+    private void reject(HttpServletResponse response, String endpoint, long waitNanos) throws IOException {
+        meterRegistry.counter("auth.ratelimit.rejected", "endpoint", endpoint).increment();
+
+        long retryAfterSeconds = Math.max(1L, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        // why: written by hand - the shared ObjectMapper has no java.time support for ErrorResponse.
+        response.getWriter().write(
+                "{\"message\":\"Too many requests\",\"status\":429,\"timestamp\":\"" + Instant.now() + "\"}");
+    }
+
+    private String jsonField(byte[] body, String field) {
+        if (body.length == 0) return null;
+        try {
+            JsonNode node = objectMapper.readTree(body).get(field);
+            return (node != null && node.isTextual()) ? node.asText() : null;
+        } catch (IOException e) {
+            return null; // malformed body: the controller will reject it, the IP bucket already applied
+        }
+    }
+
+    private static String normalizeEmail(String email) {
+        if (email == null || email.isBlank()) return null;
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String prefix(String token) {
+        if (token == null || token.isBlank()) return null;
+        return token.length() <= TOKEN_PREFIX_LENGTH ? token : token.substring(0, TOKEN_PREFIX_LENGTH);
+    }
+
+    private static String cookie(HttpServletRequest request, String name) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) return null;
+        for (Cookie c : cookies) {
+            if (name.equals(c.getName())) return c.getValue();
+        }
+        return null;
+    }
+
+    // Replays a body that was already read for key extraction.
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory: it is available at once and then all read.
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) listener.onDataAvailable();
+                        if (isFinished()) listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(
+                    new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
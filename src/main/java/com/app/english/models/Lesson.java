@@ -38,6 +38,11 @@ public class Lesson {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
+    // Bumped in SQL every time the lesson's items are replaced (LessonRepository.bumpItemsVersion).
+    // Progress bits are keyed by item position, so readers use it to spot a stale item layout.
+    @Column(name = "items_version", columnDefinition = "bigint default 0 not null", insertable = false, updatable = false)
+    private long itemsVersion;
+
     protected Lesson() {}
 
     public Lesson(String title, String description, LessonStatus status, User createdBy) {
@@ -67,6 +72,7 @@ public class Lesson {
     public User getCreatedBy() { return createdBy; }
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
+    public long getItemsVersion() { return itemsVersion; }
 
     public void update(String title, String description, LessonStatus status) {
         this.title = title;
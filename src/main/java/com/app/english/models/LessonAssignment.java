@@ -8,15 +8,17 @@ import java.time.Instant;
 @Table(
         name = "lesson_assignments",
         indexes = {
-                @Index(name = "idx_lesson_assign_group", columnList = "group_id, display_order, created_at"),
-                @Index(name = "idx_lesson_assign_user", columnList = "assigned_to_user_id, display_order, created_at"),
+                // Match the feed keyset (group_id, display_order, id) so the row-value comparison seeks.
+                @Index(name = "idx_lesson_assign_group_keyset", columnList = "group_id, display_order, id"),
+                @Index(name = "idx_lesson_assign_user_keyset", columnList = "assigned_to_user_id, group_id, display_order, id"),
                 @Index(name = "idx_lesson_assign_lesson", columnList = "lesson_id, created_at")
         }
 )
 public class LessonAssignment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lesson_assignments_seq")
+    @SequenceGenerator(name = "lesson_assignments_seq", sequenceName = "lesson_assignments_seq", allocationSize = 50)
     private Long id;
 
     // Assignment always belongs to a group. Per-user assignment is within this group.
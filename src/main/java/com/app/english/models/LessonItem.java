@@ -14,8 +14,10 @@ import jakarta.persistence.*;
 )
 public class LessonItem {
 
+    // Pooled sequence (50 ids per round trip) rather than IDENTITY, so inserts can be JDBC-batched.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lesson_items_seq")
+    @SequenceGenerator(name = "lesson_items_seq", sequenceName = "lesson_items_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
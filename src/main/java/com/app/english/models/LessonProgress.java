@@ -44,6 +44,19 @@ public class LessonProgress {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
+    // Denormalized summary: distinct lesson tasks completed / in the lesson. Written together
+    // with task completions and reconciled when the lesson's items change.
+    @Column(name = "completed_count")
+    private Integer completedCount;
+
+    @Column(name = "total_count")
+    private Integer totalCount;
+
+    // One '0'/'1' per lesson item position, set by atomic OR updates in LessonProgressRepository.
+    // Never written through the entity, so a save() can't overwrite a concurrent completion.
+    @Column(name = "completed_bits", columnDefinition = "varbit", insertable = false, updatable = false)
+    private String completedBits;
+
     protected LessonProgress() {}
 
     public LessonProgress(User user, LessonAssignment assignment) {
@@ -51,6 +64,7 @@ public class LessonProgress {
         this.assignment = assignment;
         this.status = LessonProgressStatus.NOT_STARTED;
         this.updatedAt = Instant.now();
+        this.completedCount = 0;
     }
 
     @PrePersist
@@ -70,6 +84,14 @@ public class LessonProgress {
     public Instant getStartedAt() { return startedAt; }
     public Instant getCompletedAt() { return completedAt; }
     public Instant getUpdatedAt() { return updatedAt; }
+    public Integer getCompletedCount() { return completedCount; }
+    public Integer getTotalCount() { return totalCount; }
+    public String getCompletedBits() { return completedBits; }
+
+    public void updateCounts(int completedCount, int totalCount) {
+        this.completedCount = completedCount;
+        this.totalCount = totalCount;
+    }
 
     public void markInProgress() {
         if (status == LessonProgressStatus.NOT_STARTED) {
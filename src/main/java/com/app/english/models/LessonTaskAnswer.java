@@ -1,6 +1,5 @@
 package com.app.english.models;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.*;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
@@ -21,7 +20,8 @@ import java.time.Instant;
 public class LessonTaskAnswer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lesson_task_answers_seq")
+    @SequenceGenerator(name = "lesson_task_answers_seq", sequenceName = "lesson_task_answers_seq", allocationSize = 50)
     private Long id;
 
     // Context: user + assignment (via LessonProgress)
@@ -37,19 +37,33 @@ public class LessonTaskAnswer {
     @Column(nullable = false)
     private LessonAnswerStatus status;
 
+    // Raw JSON text: Hibernate passes a String through to jsonb without re-serializing it.
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "answer_json", columnDefinition = "jsonb")
-    private JsonNode answerJson;
+    private String answerJson;
 
     @Column(name = "submitted_at")
     private Instant submittedAt;
 
+    // Auto-grading result of the submitted answer (AnswerGrader); null for drafts and
+    // for task types that are graded by hand.
+    @Column(name = "score")
+    private Integer score;
+
+    @Column(name = "max_score")
+    private Integer maxScore;
+
+    // {"<vocabularyId>": "DIACRITICS_ONLY" | "TYPO"} for items accepted by tolerant matching.
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "near_misses", columnDefinition = "jsonb")
+    private String nearMisses;
+
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
     protected LessonTaskAnswer() {}
 
-    public LessonTaskAnswer(LessonProgress progress, Task task, JsonNode answerJson) {
+    public LessonTaskAnswer(LessonProgress progress, Task task, String answerJson) {
         this.progress = progress;
         this.task = task;
         this.answerJson = answerJson;
@@ -71,19 +85,31 @@ public class LessonTaskAnswer {
     public LessonProgress getProgress() { return progress; }
     public Task getTask() { return task; }
     public LessonAnswerStatus getStatus() { return status; }
-    public JsonNode getAnswerJson() { return answerJson; }
+    public String getAnswerJson() { return answerJson; }
     public Instant getSubmittedAt() { return submittedAt; }
     public Instant getUpdatedAt() { return updatedAt; }
+    public Integer getScore() { return score; }
+    public Integer getMaxScore() { return maxScore; }
+    public String getNearMisses() { return nearMisses; }
 
-    public void saveDraft(JsonNode answerJson) {
+    public void saveDraft(String answerJson) {
         this.answerJson = answerJson;
         this.status = LessonAnswerStatus.DRAFT;
+        this.score = null;
+        this.maxScore = null;
+        this.nearMisses = null;
         // submittedAt stays as-is; training resubmits are handled via submit()
     }
 
-    public void submit(JsonNode answerJson) {
+    public void submit(String answerJson) {
         this.answerJson = answerJson;
         this.status = LessonAnswerStatus.SUBMITTED;
         this.submittedAt = Instant.now(); // resubmit allowed => overwrite timestamp
     }
+
+    public void applyGrade(Integer score, Integer maxScore, String nearMisses) {
+        this.score = score;
+        this.maxScore = maxScore;
+        this.nearMisses = nearMisses;
+    }
 }
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 
 import java.time.Instant;
 
+// Legacy per-task completion rows, superseded by lesson_progress.completed_bits. No longer
+// written; kept mapped so the table exists for the backfill in db/migrations.sql.
 @Entity
 @Table(
         name = "lesson_task_progress",
@@ -18,7 +20,8 @@ import java.time.Instant;
 public class LessonTaskProgress {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lesson_task_progress_seq")
+    @SequenceGenerator(name = "lesson_task_progress_seq", sequenceName = "lesson_task_progress_seq", allocationSize = 50)
     private Long id;
 
     // parent progress
@@ -1,5 +1,6 @@
 package com.app.english.models;
 
+import com.app.english.service.MembershipEvictionListener;
 import jakarta.persistence.*;
 
 import java.time.Instant;
@@ -15,6 +16,7 @@ import java.time.Instant;
                 @Index(name = "idx_memberships_group", columnList = "group_id")
         }
 )
+@EntityListeners(MembershipEvictionListener.class)
 public class Membership {
 
     @Id
@@ -3,11 +3,13 @@ package com.app.english.models;
 import jakarta.persistence.*;
 
 import java.time.Instant;
+import java.util.UUID;
 
 @Entity
 @Table(name = "refresh_tokens", indexes = {
         @Index(name = "idx_refresh_token_hash", columnList = "tokenHash", unique = true),
-        @Index(name = "idx_refresh_token_user", columnList = "user_id")
+        @Index(name = "idx_refresh_token_user", columnList = "user_id"),
+        @Index(name = "idx_refresh_token_family", columnList = "familyId")
 })
 public class RefreshToken {
 
@@ -26,13 +28,17 @@ public class RefreshToken {
     @Column(nullable = false)
     private boolean revoked;
 
+    // All tokens descending from one login share a family; null for tokens issued before families.
+    private UUID familyId;
+
     protected RefreshToken() {}
 
-    public RefreshToken(String tokenHash, User user, Instant expiresAt) {
+    public RefreshToken(String tokenHash, User user, Instant expiresAt, UUID familyId) {
         this.tokenHash = tokenHash;
         this.user = user;
         this.expiresAt = expiresAt;
         this.revoked = false;
+        this.familyId = familyId;
     }
 
     public Long getId() { return id; }
@@ -45,6 +51,8 @@ public class RefreshToken {
 
     public boolean isRevoked() { return revoked; }
 
+    public UUID getFamilyId() { return familyId; }
+
     public void revoke() { this.revoked = true; }
 
     public boolean isExpired(Instant now) { return expiresAt.isBefore(now) || expiresAt.equals(now); }
@@ -15,7 +15,8 @@ import jakarta.persistence.*;
 public class TaskVocabulary {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_vocabulary_seq")
+    @SequenceGenerator(name = "task_vocabulary_seq", sequenceName = "task_vocabulary_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
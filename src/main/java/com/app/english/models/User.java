@@ -1,9 +1,11 @@
 package com.app.english.models;
 
+import com.app.english.service.UserPrincipalEvictionListener;
 import jakarta.persistence.*;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserPrincipalEvictionListener.class)
 public class User {
 
     @Id
@@ -43,4 +45,8 @@ public class User {
     public Role getRole() {
         return this.role;
     }
+
+    public void changePasswordHash(String passwordHash) {
+        this.passwordHash = passwordHash;
+    }
 }
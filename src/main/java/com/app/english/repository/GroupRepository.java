@@ -2,10 +2,16 @@ package com.app.english.repository;
 
 import com.app.english.models.Group;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
 
 public interface GroupRepository extends JpaRepository<Group, Long> {
     Optional<Group> findByJoinCode(String joinCode);
     boolean existsByJoinCode(String joinCode);
+
+    // Group-level lock held by every writer of the group's assignment ordering keys (moves, reorders,
+    // new top keys, the rebalancer) until commit. NO KEY UPDATE leaves FK checks from inserts unblocked.
+    @Query(value = "select id from groups where id = :groupId for no key update", nativeQuery = true)
+    Long lockAssignmentOrdering(Long groupId);
 }
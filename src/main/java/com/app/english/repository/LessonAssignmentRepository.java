@@ -3,9 +3,11 @@ package com.app.english.repository;
 import com.app.english.dto.lessons.LessonAssignmentResponse;
 import com.app.english.models.LessonAssignment;
 import com.app.english.models.LessonStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.Instant;
@@ -15,15 +17,46 @@ import java.util.List;
 
 public interface LessonAssignmentRepository extends JpaRepository<LessonAssignment, Long> {
 
-    @Query("""
-        select min(a.displayOrder) from LessonAssignment a
-        where a.group.id = :groupId
-          and (
-            (:userId is null and a.assignedToUser is null)
-            or (:userId is not null and a.assignedToUser.id = :userId)
-          )
-    """)
-    Long findMinDisplayOrder(Long groupId, Long userId);
+    // Renumber one bucket (group-wide when userId is null) with evenly spaced keys, keeping its order.
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = """
+        update lesson_assignments a
+           set display_order = r.rn * :gap
+          from (
+            select id, row_number() over (order by display_order asc, created_at desc, id desc) as rn
+              from lesson_assignments
+             where group_id = :groupId
+               and assigned_to_user_id is not distinct from cast(:userId as bigint)
+          ) r
+         where a.id = r.id
+    """, nativeQuery = true)
+    int rebalanceBucket(Long groupId, Long userId, long gap);
+
+    // Smallest display_order in a bucket (group-wide when userId is null), or null when it is empty.
+    @Query(value = """
+        select min(display_order)
+          from lesson_assignments
+         where group_id = :groupId
+           and assigned_to_user_id is not distinct from cast(:userId as bigint)
+    """, nativeQuery = true)
+    Long findTopDisplayOrder(Long groupId, Long userId);
+
+    // Buckets where some neighbouring keys are closer than minGap (no room to move between them).
+    @Query(value = """
+        select group_id, assigned_to_user_id
+          from (
+            select group_id, assigned_to_user_id,
+                   display_order - lag(display_order) over (
+                       partition by group_id, assigned_to_user_id
+                       order by display_order asc, created_at desc, id desc
+                   ) as gap
+              from lesson_assignments
+          ) t
+         where gap < :minGap
+         group by group_id, assigned_to_user_id
+         limit :maxBuckets
+    """, nativeQuery = true)
+    List<Object[]> findDenseBuckets(long minGap, int maxBuckets);
 
     // -------------------------
     // TEACHER view (single group)
@@ -96,6 +129,118 @@ public interface LessonAssignmentRepository extends JpaRepository<LessonAssignme
     """)
     Page<LessonAssignmentResponse> pageStudentPersonal(Long userId, Instant now, LessonStatus archived, Pageable pageable);
 
+    // -------------------------
+    // STUDENT feeds (keyset pagination, no COUNT)
+    // Sort: group_id asc, display_order asc, id asc — one direction throughout, so the "after"
+    // variants can use a single row-value comparison (group_id, display_order, id) > (...)
+    // that the matching composite index seeks to directly, also inside one large group.
+    // -------------------------
+
+    @Query("""
+        select new com.app.english.dto.lessons.LessonAssignmentResponse(
+          a.id, a.group.id, l.id, l.title, l.status,
+          null, a.displayOrder, a.visibleFrom, a.visibleTo, a.createdAt
+        )
+        from LessonAssignment a
+        join a.lesson l
+        where a.group.id in :groupIds
+          and a.assignedToUser is null
+          and (a.visibleFrom is null or a.visibleFrom <= :now)
+          and (a.visibleTo is null or a.visibleTo >= :now)
+          and l.status <> :archived
+        order by a.group.id asc, a.displayOrder asc, a.id asc
+    """)
+    List<LessonAssignmentResponse> feedStudentGroupWide(
+            List<Long> groupIds, Instant now, LessonStatus archived, Limit limit);
+
+    @Query("""
+        select new com.app.english.dto.lessons.LessonAssignmentResponse(
+          a.id, a.group.id, l.id, l.title, l.status,
+          null, a.displayOrder, a.visibleFrom, a.visibleTo, a.createdAt
+        )
+        from LessonAssignment a
+        join a.lesson l
+        where a.group.id in :groupIds
+          and a.assignedToUser is null
+          and (a.visibleFrom is null or a.visibleFrom <= :now)
+          and (a.visibleTo is null or a.visibleTo >= :now)
+          and l.status <> :archived
+          and (a.group.id, a.displayOrder, a.id) > (:afterGroupId, :afterOrder, :afterId)
+        order by a.group.id asc, a.displayOrder asc, a.id asc
+    """)
+    List<LessonAssignmentResponse> feedStudentGroupWideAfter(
+            List<Long> groupIds, Instant now, LessonStatus archived,
+            Long afterGroupId, long afterOrder, Long afterId, Limit limit);
+
+    @Query("""
+        select new com.app.english.dto.lessons.LessonAssignmentResponse(
+          a.id, a.group.id, l.id, l.title, l.status,
+          a.assignedToUser.id, a.displayOrder, a.visibleFrom, a.visibleTo, a.createdAt
+        )
+        from LessonAssignment a
+        join a.lesson l
+        where a.assignedToUser.id = :userId
+          and (a.visibleFrom is null or a.visibleFrom <= :now)
+          and (a.visibleTo is null or a.visibleTo >= :now)
+          and l.status <> :archived
+        order by a.group.id asc, a.displayOrder asc, a.id asc
+    """)
+    List<LessonAssignmentResponse> feedStudentPersonal(
+            Long userId, Instant now, LessonStatus archived, Limit limit);
+
+    @Query("""
+        select new com.app.english.dto.lessons.LessonAssignmentResponse(
+          a.id, a.group.id, l.id, l.title, l.status,
+          a.assignedToUser.id, a.displayOrder, a.visibleFrom, a.visibleTo, a.createdAt
+        )
+        from LessonAssignment a
+        join a.lesson l
+        where a.assignedToUser.id = :userId
+          and (a.visibleFrom is null or a.visibleFrom <= :now)
+          and (a.visibleTo is null or a.visibleTo >= :now)
+          and l.status <> :archived
+          and (a.group.id, a.displayOrder, a.id) > (:afterGroupId, :afterOrder, :afterId)
+        order by a.group.id asc, a.displayOrder asc, a.id asc
+    """)
+    List<LessonAssignmentResponse> feedStudentPersonalAfter(
+            Long userId, Instant now, LessonStatus archived,
+            Long afterGroupId, long afterOrder, Long afterId, Limit limit);
+
+    // Both student streams (group-wide in my groups + assigned to me) merged in the same order.
+    @Query("""
+        select new com.app.english.dto.lessons.LessonAssignmentResponse(
+          a.id, a.group.id, l.id, l.title, l.status,
+          a.assignedToUser.id, a.displayOrder, a.visibleFrom, a.visibleTo, a.createdAt
+        )
+        from LessonAssignment a
+        join a.lesson l
+        where ((a.assignedToUser is null and a.group.id in :groupIds) or a.assignedToUser.id = :userId)
+          and (a.visibleFrom is null or a.visibleFrom <= :now)
+          and (a.visibleTo is null or a.visibleTo >= :now)
+          and l.status <> :archived
+        order by a.group.id asc, a.displayOrder asc, a.id asc
+    """)
+    List<LessonAssignmentResponse> feedStudentHome(
+            Long userId, List<Long> groupIds, Instant now, LessonStatus archived, Limit limit);
+
+    @Query("""
+        select new com.app.english.dto.lessons.LessonAssignmentResponse(
+          a.id, a.group.id, l.id, l.title, l.status,
+          a.assignedToUser.id, a.displayOrder, a.visibleFrom, a.visibleTo, a.createdAt
+        )
+        from LessonAssignment a
+        join a.lesson l
+        where ((a.assignedToUser is null and a.group.id in :groupIds) or a.assignedToUser.id = :userId)
+          and (a.visibleFrom is null or a.visibleFrom <= :now)
+          and (a.visibleTo is null or a.visibleTo >= :now)
+          and l.status <> :archived
+          and (a.group.id, a.displayOrder, a.id) > (:afterGroupId, :afterOrder, :afterId)
+        order by a.group.id asc, a.displayOrder asc, a.id asc
+    """)
+    List<LessonAssignmentResponse> feedStudentHomeAfter(
+            Long userId, List<Long> groupIds, Instant now, LessonStatus archived,
+            Long afterGroupId, long afterOrder, Long afterId, Limit limit);
+
     @Query("""
         select a from LessonAssignment a
         join fetch a.lesson l
@@ -153,4 +298,18 @@ public interface LessonAssignmentRepository extends JpaRepository<LessonAssignme
         where a.id = :assignmentId
     """)
     Optional<LessonAssignment> findByIdWithLessonAndGroup(Long assignmentId);
-}
\ No newline at end of file
+
+    // Gradebook columns: (assignmentId, lessonId, lessonTitle, assignedToUserId, distinct task count).
+    // Group-wide assignments first, each part in display order.
+    @Query("""
+        select a.id, l.id, l.title, u.id, count(distinct li.task.id)
+        from LessonAssignment a
+        join a.lesson l
+        left join a.assignedToUser u
+        left join LessonItem li on li.lesson.id = l.id and li.task is not null
+        where a.group.id = :groupId
+        group by a.id, l.id, l.title, u.id, a.displayOrder, a.createdAt
+        order by case when u.id is null then 0 else 1 end, a.displayOrder asc, a.createdAt desc, a.id desc
+    """)
+    List<Object[]> findGradebookColumns(Long groupId);
+}
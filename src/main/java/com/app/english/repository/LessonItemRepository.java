@@ -1,10 +1,12 @@
 package com.app.english.repository;
 
+import com.app.english.dto.lessons.LessonItemRow;
 import com.app.english.models.LessonItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface LessonItemRepository extends JpaRepository<LessonItem, Long> {
@@ -17,6 +19,24 @@ public interface LessonItemRepository extends JpaRepository<LessonItem, Long> {
     """)
     List<LessonItem> findByLessonIdOrderByPosition(Long lessonId);
 
+    @Query("""
+        select new com.app.english.dto.lessons.LessonItemRow(li.lesson.id, li.position, li.itemType, t.id)
+        from LessonItem li
+        left join li.task t
+        where li.lesson.id in :lessonIds
+        order by li.lesson.id asc, li.position asc
+    """)
+    List<LessonItemRow> findRowsByLessonIds(Collection<Long> lessonIds);
+
+    // lessonId -> number of distinct tasks, for many lessons at once
+    @Query("""
+        select li.lesson.id, count(distinct li.task.id)
+        from LessonItem li
+        where li.lesson.id in :lessonIds and li.task is not null
+        group by li.lesson.id
+    """)
+    List<Object[]> countDistinctTasksByLessonIds(Collection<Long> lessonIds);
+
     @Modifying
     @Query("delete from LessonItem li where li.lesson.id = :lessonId")
     int deleteByLessonId(Long lessonId);
@@ -28,5 +48,34 @@ public interface LessonItemRepository extends JpaRepository<LessonItem, Long> {
         order by li.position asc
     """)
     List<Long> findTaskIdsForLesson(Long lessonId);
+
+    // (items_version, task_id) rows in position order, read in one statement so the ids and the
+    // version come from the same snapshot. A lesson without tasks yields one row with a null id.
+    @Query(value = """
+        select l.items_version, li.task_id
+          from lessons l
+          left join lesson_items li on li.lesson_id = l.id and li.task_id is not null
+         where l.id = :lessonId
+         order by li.position asc
+    """, nativeQuery = true)
+    List<Object[]> findTaskIdsWithItemsVersion(Long lessonId);
+
+    @Query("""
+        select li from LessonItem li
+        left join fetch li.task t
+        where li.lesson.id = :lessonId
+        order by li.position asc
+    """)
+    List<LessonItem> findWithTasksByLessonId(Long lessonId);
+
+    @Query("select distinct li.lesson.id from LessonItem li where li.task.id = :taskId")
+    List<Long> findLessonIdsByTaskId(Long taskId);
+
+    @Query("""
+        select distinct li.lesson.id
+        from LessonItem li, TaskVocabulary tv
+        where tv.task.id = li.task.id and tv.vocabulary.id = :vocabularyId
+    """)
+    List<Long> findLessonIdsByVocabularyId(Long vocabularyId);
 }
 
@@ -1,10 +1,129 @@
 package com.app.english.repository;
 
+import com.app.english.dto.lessons.AssignmentProgressRow;
 import com.app.english.models.LessonProgress;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface LessonProgressRepository extends JpaRepository<LessonProgress, Long> {
     Optional<LessonProgress> findByUserIdAndAssignmentId(Long userId, Long assignmentId);
+
+    // Status + done count for many assignments of one user, straight from the counters.
+    @Query("""
+        select new com.app.english.dto.lessons.AssignmentProgressRow(p.assignment.id, p.status, cast(coalesce(p.completedCount, 0) as long))
+        from LessonProgress p
+        where p.user.id = :userId and p.assignment.id in :assignmentIds
+    """)
+    List<AssignmentProgressRow> summarizeForUser(Long userId, Collection<Long> assignmentIds);
+
+    // Result row of the progress upserts below.
+    interface ProgressState {
+        Long getId();
+        String getStatus();
+        Instant getStartedAt();
+        Instant getCompletedAt();
+    }
+
+    // Creates the row as IN_PROGRESS or moves NOT_STARTED forward, in one statement that
+    // can't lose a race with a concurrent first completion from another tab. The row lock it
+    // takes also serializes concurrent counter updates for the same progress until commit.
+    @Transactional
+    @Query(value = """
+        insert into lesson_progress (user_id, assignment_id, status, started_at, updated_at, completed_count, total_count)
+        values (:userId, :assignmentId, 'IN_PROGRESS', :now, :now, 0, :totalCount)
+        on conflict (user_id, assignment_id) do update
+           set status = case when lesson_progress.status = 'NOT_STARTED' then 'IN_PROGRESS'
+                             else lesson_progress.status end,
+               started_at = coalesce(lesson_progress.started_at, excluded.started_at),
+               updated_at = excluded.updated_at
+        returning id as id, status as status, started_at as startedAt, completed_at as completedAt
+    """, nativeQuery = true)
+    ProgressState upsertInProgress(Long userId, Long assignmentId, Instant now, int totalCount);
+
+    // Stores the counters after a batch of completions; completes the lesson when asked to.
+    @Transactional
+    @Query(value = """
+        update lesson_progress
+           set completed_count = :completedCount,
+               total_count = :totalCount,
+               status = case when :complete then 'COMPLETED' else status end,
+               completed_at = case when :complete then coalesce(completed_at, :now) else completed_at end,
+               updated_at = :now
+         where id = :progressId
+        returning id as id, status as status, started_at as startedAt, completed_at as completedAt
+    """, nativeQuery = true)
+    ProgressState updateCounts(Long progressId, int completedCount, int totalCount, boolean complete, Instant now);
+
+    // ORs a position mask into completed_bits and returns the result. The stored string is
+    // padded (or cut) to the mask's length first, since varbit '|' needs equal lengths.
+    @Transactional
+    @Query(value = """
+        update lesson_progress
+           set completed_bits = cast(:mask as varbit)
+                              | cast(rpad(coalesce(cast(completed_bits as text), ''), length(:mask), '0') as varbit)
+         where id = :progressId
+        returning cast(completed_bits as text)
+    """, nativeQuery = true)
+    String orCompletedBits(Long progressId, String mask);
+
+    // Rebuilds completed_bits for every progress row of a lesson after its items were replaced:
+    // new position i takes the bit at oldPositions[i], or 0 when that entry is -1 (a new task).
+    // Completions of tasks removed from the lesson are dropped.
+    @Modifying
+    @Query(value = """
+        update lesson_progress p
+           set completed_bits = (
+                   select cast(string_agg(
+                              case when m.old_pos < 0 or m.old_pos >= coalesce(length(p.completed_bits), 0) then '0'
+                                   when get_bit(p.completed_bits, m.old_pos) = 1 then '1'
+                                   else '0' end,
+                              '' order by m.new_pos) as varbit)
+                     from unnest(cast(:oldPositions as int[])) with ordinality as m(old_pos, new_pos)
+               )
+         where p.assignment_id in (select a.id from lesson_assignments a where a.lesson_id = :lessonId)
+           and p.completed_bits is not null
+    """, nativeQuery = true)
+    int remapCompletedBits(Long lessonId, Integer[] oldPositions);
+
+    // Recomputes the counters of every progress row of a lesson from its (remapped) bits.
+    @Modifying
+    @Query(value = """
+        update lesson_progress p
+           set total_count = :totalCount,
+               completed_count = length(replace(coalesce(cast(p.completed_bits as text), ''), '0', ''))
+         where p.assignment_id in (select a.id from lesson_assignments a where a.lesson_id = :lessonId)
+    """, nativeQuery = true)
+    int reconcileCounts(Long lessonId, int totalCount);
+
+    // Gradebook cells: (userId, assignmentId, status, completedCount, updatedAt) for a whole group.
+    @Query("""
+        select p.user.id, a.id, p.status, coalesce(p.completedCount, 0), p.updatedAt
+        from LessonProgress p
+        join p.assignment a
+        where a.group.id = :groupId
+    """)
+    List<Object[]> findGradebookCells(Long groupId);
+
+    // assignmentId -> number of students it applies to who have no progress row yet.
+    @Query("""
+        select a.id, count(m.id)
+        from LessonAssignment a
+        join Membership m on m.group.id = a.group.id
+        where a.group.id = :groupId
+          and m.role = com.app.english.models.GroupRole.STUDENT
+          and (a.assignedToUser is null or a.assignedToUser.id = m.user.id)
+          and not exists (
+              select 1 from LessonProgress p
+              where p.assignment.id = a.id and p.user.id = m.user.id
+          )
+        group by a.id
+    """)
+    List<Object[]> countNotStartedByAssignment(Long groupId);
 }
@@ -5,6 +5,7 @@ import com.app.english.models.LessonStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -23,4 +24,13 @@ public interface LessonRepository extends JpaRepository<Lesson, Long> {
             List<LessonStatus> statuses,
             Pageable pageable
     );
+
+    // Current item layout version, holding the lesson row in share mode until commit so
+    // replaceItems (which bumps it first) can't change positions under a progress write.
+    @Query(value = "select items_version from lessons where id = :lessonId for share", nativeQuery = true)
+    Long lockItemsVersion(Long lessonId);
+
+    @Modifying
+    @Query(value = "update lessons set items_version = items_version + 1 where id = :lessonId", nativeQuery = true)
+    int bumpItemsVersion(Long lessonId);
 }
@@ -1,5 +1,6 @@
 package com.app.english.repository;
 
+import com.app.english.models.GroupRole;
 import com.app.english.models.Membership;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -11,6 +12,9 @@ public interface MembershipRepository extends JpaRepository<Membership, Long> {
 
     boolean existsByUserIdAndGroupId(Long userId, Long groupId);
 
+    @Query("select m.role from Membership m where m.user.id = :userId and m.group.id = :groupId")
+    Optional<GroupRole> findRole(Long userId, Long groupId);
+
     @Query("""
            select m
            from Membership m
@@ -20,14 +24,6 @@ public interface MembershipRepository extends JpaRepository<Membership, Long> {
            """)
     List<Membership> findMyMembershipsWithGroups(String email);
 
-    @Query("""
-           select m
-           from Membership m
-           join fetch m.group g
-           where m.user.email = :email and g.id = :groupId
-           """)
-    Optional<Membership> findByUserEmailAndGroupId(String email, Long groupId);
-
     @Query("""
            select m
            from Membership m
@@ -48,4 +44,14 @@ public interface MembershipRepository extends JpaRepository<Membership, Long> {
 
     @Query("select m.group.id from Membership m where m.user.id = :userId")
     List<Long> findGroupIdsByUserId(Long userId);
+
+    // (userId, email) of the group's students, in join order
+    @Query("""
+           select u.id, u.email
+           from Membership m
+           join m.user u
+           where m.group.id = :groupId and m.role = com.app.english.models.GroupRole.STUDENT
+           order by m.joinedAt asc, u.id asc
+           """)
+    List<Object[]> findStudentRowsByGroupId(Long groupId);
 }
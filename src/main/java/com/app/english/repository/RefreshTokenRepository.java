@@ -2,17 +2,82 @@ package com.app.english.repository;
 
 import com.app.english.models.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
     Optional<RefreshToken> findByTokenHash(String tokenHash);
 
-    long countByUserIdAndRevokedFalseAndExpiresAtAfter(Long userId, Instant now);
+    // Result row of rotate(): the owner of the consumed token.
+    interface RotatedOwner {
+        Long getUserId();
+        String getEmail();
+        String getRole();
+    }
 
-    List<RefreshToken> findByUserIdAndRevokedFalseAndExpiresAtAfterOrderByIdAsc(
-            Long userId, Instant now
-    );
+    // One round trip: revoke the presented token only if it is still active, insert its
+    // successor in the same family, and revoke the oldest actives beyond keepOthers.
+    // Sub-statements share one snapshot, so the trim excludes the consumed token explicitly
+    // and cannot see the inserted one. No row back means the token was not active.
+    // A token from before families existed gets its new family stored on the old row too,
+    // so replaying it later still finds (and revokes) the successor.
+    // @Transactional: query methods default to read-only, but this statement writes.
+    @Transactional
+    @Query(value = """
+        with old as (
+            update refresh_tokens
+               set revoked = true,
+                   family_id = coalesce(family_id, gen_random_uuid())
+             where token_hash = :oldHash and revoked = false and expires_at > :now
+            returning id, user_id, family_id
+        ),
+        ins as (
+            insert into refresh_tokens (token_hash, user_id, expires_at, revoked, family_id)
+            select :newHash, old.user_id, :expiresAt, false, old.family_id from old
+        ),
+        trimmed as (
+            update refresh_tokens
+               set revoked = true
+             where id in (
+                select rt.id
+                  from refresh_tokens rt
+                  join old on rt.user_id = old.user_id
+                 where rt.revoked = false and rt.expires_at > :now and rt.id <> old.id
+                 order by rt.id desc
+                offset :keepOthers
+             )
+        )
+        select u.id as userId, u.email as email, u.role as role
+          from users u
+          join old on u.id = old.user_id
+    """, nativeQuery = true)
+    Optional<RotatedOwner> rotate(String oldHash, String newHash, Instant now, Instant expiresAt, int keepOthers);
+
+    // Insert a token in a new family and trim older actives, as a single statement.
+    @Modifying
+    @Query(value = """
+        with trimmed as (
+            update refresh_tokens
+               set revoked = true
+             where id in (
+                select id
+                  from refresh_tokens
+                 where user_id = :userId and revoked = false and expires_at > :now
+                 order by id desc
+                offset :keepOthers
+             )
+        )
+        insert into refresh_tokens (token_hash, user_id, expires_at, revoked, family_id)
+        values (:hash, :userId, :expiresAt, false, :familyId)
+    """, nativeQuery = true)
+    int insertTrimmingActive(String hash, Long userId, Instant now, Instant expiresAt, UUID familyId, int keepOthers);
+
+    @Modifying
+    @Query("update RefreshToken rt set rt.revoked = true where rt.familyId = :familyId and rt.revoked = false")
+    int revokeFamily(UUID familyId);
 }
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface TaskVocabularyRepository extends JpaRepository<TaskVocabulary, Long> {
@@ -17,6 +18,17 @@ public interface TaskVocabularyRepository extends JpaRepository<TaskVocabulary,
     """)
     List<Long> findVocabularyIds(Long taskId);
 
+    @Query("""
+        select tv from TaskVocabulary tv
+        join fetch tv.vocabulary v
+        where tv.task.id in :taskIds
+        order by tv.task.id asc, tv.position asc
+    """)
+    List<TaskVocabulary> findWithVocabularyByTaskIds(Collection<Long> taskIds);
+
+    @Query("select tv.task.id from TaskVocabulary tv where tv.vocabulary.id = :vocabularyId")
+    List<Long> findTaskIdsByVocabularyId(Long vocabularyId);
+
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("delete from TaskVocabulary tv where tv.task.id = :taskId")
     int deleteByTaskId(Long taskId);
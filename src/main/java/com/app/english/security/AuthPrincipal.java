@@ -0,0 +1,14 @@
+package com.app.english.security;
+
+import com.app.english.models.Role;
+
+import java.security.Principal;
+
+// Principal installed by JwtAuthFilter. getName() stays the email, so auth.getName() keeps working.
+public record AuthPrincipal(Long id, String email, Role role) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
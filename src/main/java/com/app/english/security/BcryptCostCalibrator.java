@@ -0,0 +1,46 @@
+package com.app.english.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// Picks the BCrypt cost whose single hash on this machine first reaches the target time.
+// Each extra cost step doubles the work, so the loop is short even on fast hardware.
+// The result is clamped to [minCost, maxCost]: a slow or busy node never goes below the
+// configured floor, however long its hashes take.
+final class BcryptCostCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(BcryptCostCalibrator.class);
+
+    private static final String SAMPLE = "calibration-sample-password";
+    private static final int MIN_BCRYPT_COST = 4;
+    private static final int MAX_BCRYPT_COST = 31;
+
+    private BcryptCostCalibrator() {}
+
+    static int calibrate(long targetMs, int minCost, int maxCost) {
+        // BCrypt itself only accepts costs 4..31.
+        int floor = Math.clamp(minCost, MIN_BCRYPT_COST, MAX_BCRYPT_COST);
+        int ceiling = Math.clamp(maxCost, floor, MAX_BCRYPT_COST);
+
+        // why: the first run pays for class loading and JIT, not for hashing.
+        new BCryptPasswordEncoder(MIN_BCRYPT_COST).encode(SAMPLE);
+
+        int cost = floor;
+        long elapsedMs = measure(cost);
+        while (elapsedMs < targetMs && cost < ceiling) {
+            cost++;
+            elapsedMs = measure(cost);
+        }
+
+        log.info("BCrypt cost calibrated to {} ({} ms per hash, target {} ms)", cost, elapsedMs, targetMs);
+        return cost;
+    }
+
+    private static long measure(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE);
+        return (System.nanoTime() - start) / 1_000_000L;
+    }
+}
@@ -0,0 +1,56 @@
+package com.app.english.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// BCrypt encoder whose cost is calibrated on first use instead of while the context starts:
+// calibration runs several real hashes, up to the target time each. PasswordHashingService
+// warms it up on its own pool once the application is ready.
+public class CalibratedBcryptEncoder implements PasswordEncoder {
+
+    private final long targetMs;
+    private final int minCost;
+    private final int maxCost;
+
+    private volatile BCryptPasswordEncoder delegate;
+    private volatile int cost;
+
+    public CalibratedBcryptEncoder(long targetMs, int minCost, int maxCost) {
+        this.targetMs = targetMs;
+        this.minCost = minCost;
+        this.maxCost = maxCost;
+    }
+
+    // The calibrated cost; calibrates first if nothing has yet.
+    public int cost() {
+        encoder();
+        return cost;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encoder().encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return encoder().matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encoder().upgradeEncoding(encodedPassword);
+    }
+
+    private BCryptPasswordEncoder encoder() {
+        BCryptPasswordEncoder e = delegate;
+        if (e != null) return e;
+        synchronized (this) {
+            if (delegate == null) {
+                cost = BcryptCostCalibrator.calibrate(targetMs, minCost, maxCost);
+                delegate = new BCryptPasswordEncoder(cost);
+            }
+            return delegate;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.app.english.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Token buckets keyed by a 64-bit hash of the key, kept in flat primitive arrays
+// (open addressing, linear probing) split into independently locked stripes.
+// No per-key objects are allocated, so millions of keys don't pressure the GC.
+// A stripe at its hard cap sends new keys to one shared overflow bucket, so a flood of
+// distinct keys is throttled together instead of slipping through unlimited.
+public class StripedTokenBucketLimiter {
+
+    private static final long EMPTY = 0L;
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final long idleNanos;
+    private final int maxSlotsPerStripe;
+    private final Stripe[] stripes;
+
+    public StripedTokenBucketLimiter(double capacity, double refillPerSecond, int stripeCount, int maxSlotsPerStripe) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Bucket capacity must be >= 1 and refill rate > 0");
+        }
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        // why: once a bucket has refilled completely it is indistinguishable from a new one.
+        this.idleNanos = (long) Math.ceil(capacity / refillPerNano);
+        this.maxSlotsPerStripe = Integer.highestOneBit(Math.max(16, maxSlotsPerStripe));
+
+        int n = Integer.highestOneBit(Math.max(1, stripeCount));
+        this.stripes = new Stripe[n];
+        for (int i = 0; i < n; i++) stripes[i] = new Stripe(16);
+    }
+
+    // 0 when a token was taken, otherwise nanoseconds until the next token is available.
+    public long tryAcquire(String key) {
+        return tryAcquire(hash(key), System.nanoTime());
+    }
+
+    long tryAcquire(long keyHash, long now) {
+        Stripe s = stripes[(int) (keyHash ^ (keyHash >>> 32)) & (stripes.length - 1)];
+        s.lock.lock();
+        try {
+            int slot = s.find(keyHash);
+            if (slot < 0) {
+                slot = s.insert(keyHash, now);
+                if (slot < 0) {
+                    // why: stripe at its hard cap - fail closed on the shared bucket rather than let
+                    // every new key through.
+                    return take(s.overflowTokens, s.overflowTouched, 0, now);
+                }
+                s.tokens[slot] = capacity;
+                s.touched[slot] = now;
+            }
+            return take(s.tokens, s.touched, slot, now);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    // Refills bucket i up to now and takes one token; same contract as tryAcquire.
+    private long take(double[] tokens, long[] touched, int i, long now) {
+        long elapsed = now - touched[i];
+        if (elapsed > 0) {
+            tokens[i] = Math.min(capacity, tokens[i] + elapsed * refillPerNano);
+        }
+        touched[i] = now;
+
+        if (tokens[i] >= 1d) {
+            tokens[i] -= 1d;
+            return 0L;
+        }
+        return Math.max(1L, (long) Math.ceil((1d - tokens[i]) / refillPerNano));
+    }
+
+    // Drops buckets that have been idle long enough to be full again; returns how many were removed.
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int removed = 0;
+        for (Stripe s : stripes) {
+            s.lock.lock();
+            try {
+                removed += s.compact(now - idleNanos);
+            } finally {
+                s.lock.unlock();
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        int total = 0;
+        for (Stripe s : stripes) {
+            s.lock.lock();
+            try {
+                total += s.size;
+            } finally {
+                s.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    // FNV-1a over UTF-8 bytes, with 0 reserved as the empty-slot marker.
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+        // why: mix the high bits down; slots and stripes are both picked from the low bits.
+        h ^= (h >>> 29);
+        return (h == EMPTY) ? 1L : h;
+    }
+
+    private final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        long[] keys;
+        double[] tokens;
+        long[] touched;
+        int size;
+        // why: a full-table compaction runs at most once per keys.length / 2 insert attempts, so a
+        // flood of new keys near the cap costs O(1) amortized per request instead of O(slots).
+        int insertsSinceCompact;
+
+        // Shared by all keys that arrive while the table is at maxSlotsPerStripe.
+        final double[] overflowTokens = {capacity};
+        final long[] overflowTouched = {System.nanoTime()};
+
+        Stripe(int slots) {
+            allocate(slots);
+        }
+
+        void allocate(int slots) {
+            keys = new long[slots];
+            tokens = new double[slots];
+            touched = new long[slots];
+            size = 0;
+        }
+
+        int find(long key) {
+            int mask = keys.length - 1;
+            for (int i = (int) key & mask; ; i = (i + 1) & mask) {
+                long k = keys[i];
+                if (k == key) return i;
+                if (k == EMPTY) return -1;
+            }
+        }
+
+        int insert(long key, long now) {
+            // keep load factor <= 0.5 so probe chains stay short
+            if ((size + 1) * 2 > keys.length) {
+                if (++insertsSinceCompact >= keys.length / 2) {
+                    compact(now - idleNanos);
+                }
+                if ((size + 1) * 2 > keys.length) {
+                    if (keys.length >= maxSlotsPerStripe) return -1;
+                    rehash(keys.length * 2, false, 0L);
+                }
+            }
+            int mask = keys.length - 1;
+            int i = (int) key & mask;
+            while (keys[i] != EMPTY) i = (i + 1) & mask;
+            keys[i] = key;
+            size++;
+            return i;
+        }
+
+        int compact(long idleBefore) {
+            insertsSinceCompact = 0;
+            int before = size;
+            if (before == 0) return 0;
+            rehash(keys.length, true, idleBefore);
+            return before - size;
+        }
+
+        // Linear probing can't delete in place, so removals rebuild the table.
+        void rehash(int slots, boolean dropIdle, long idleBefore) {
+            long[] oldKeys = keys;
+            double[] oldTokens = tokens;
+            long[] oldTouched = touched;
+            allocate(slots);
+
+            int mask = slots - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                long k = oldKeys[j];
+                if (k == EMPTY || (dropIdle && oldTouched[j] - idleBefore < 0)) continue;
+                int i = (int) k & mask;
+                while (keys[i] != EMPTY) i = (i + 1) & mask;
+                keys[i] = k;
+                tokens[i] = oldTokens[j];
+                touched[i] = oldTouched[j];
+                size++;
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.app.english.service;
+
+import com.app.english.config.AnswerDraftProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Write-behind buffer for answer draft autosaves. Only the latest draft per (progress, task)
+// is kept; dirty entries are upserted in JDBC batches on a timer. Entries stay visible until
+// their write lands, so a forced flush of one key never misses a draft that is in flight.
+// The buffer is node-local: a read served by another instance neither sees nor flushes it.
+@Component
+public class AnswerDraftBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(AnswerDraftBuffer.class);
+
+    // why: the updated_at guard keeps a late batch from overwriting a newer submit or draft.
+    private static final String UPSERT_SQL = """
+            insert into lesson_task_answers (id, progress_id, task_id, status, answer_json, updated_at)
+            values (nextval('lesson_task_answers_seq'), ?, ?, 'DRAFT', cast(? as jsonb), ?)
+            on conflict (progress_id, task_id) do update
+               set status = 'DRAFT',
+                   answer_json = excluded.answer_json,
+                   score = null,
+                   max_score = null,
+                   near_misses = null,
+                   updated_at = excluded.updated_at
+             where lesson_task_answers.updated_at <= excluded.updated_at
+            """;
+
+    private record DraftKey(long progressId, long taskId) {}
+
+    private record PendingDraft(String json, Instant updatedAt) {}
+
+    private final Map<DraftKey, PendingDraft> pending = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate ownTx;
+    private final int batchSize;
+    private final int maxPending;
+
+    private final Counter received;
+    private final Counter coalesced;
+    private final Counter written;
+    private final Timer scheduledFlush;
+    private final Timer forcedFlush;
+
+    public AnswerDraftBuffer(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            AnswerDraftProperties props,
+            MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        // for the scheduled and shutdown flushes, which run outside any request
+        this.ownTx = new TransactionTemplate(transactionManager);
+        this.batchSize = props.batchSize();
+        this.maxPending = props.maxPending();
+
+        this.received = Counter.builder("answers.drafts.received").register(meterRegistry);
+        this.coalesced = Counter.builder("answers.drafts.coalesced")
+                .description("Drafts replaced in memory before being written")
+                .register(meterRegistry);
+        this.written = Counter.builder("answers.drafts.written").register(meterRegistry);
+        this.scheduledFlush = Timer.builder("answers.drafts.flush").tag("trigger", "scheduled").register(meterRegistry);
+        this.forcedFlush = Timer.builder("answers.drafts.flush").tag("trigger", "forced").register(meterRegistry);
+
+        Gauge.builder("answers.drafts.pending", pending, Map::size).register(meterRegistry);
+        Gauge.builder("answers.drafts.coalescing.ratio", this,
+                        b -> b.received.count() == 0 ? 0d : b.coalesced.count() / b.received.count())
+                .register(meterRegistry);
+    }
+
+    // Inside a transaction the draft is buffered only after commit: the progress row it
+    // points at may not be visible to the flush transaction before then.
+    public void put(Long progressId, Long taskId, String json, Instant updatedAt) {
+        // why: if the database falls behind, degrade to write-through (in the caller's transaction)
+        // instead of growing without bound. An older buffered copy loses to it on updated_at.
+        if (pending.size() >= maxPending) {
+            received.increment();
+            write(new DraftKey(progressId, taskId), new PendingDraft(json, updatedAt));
+            return;
+        }
+        afterCommit(() -> enqueue(progressId, taskId, json, updatedAt));
+    }
+
+    private void enqueue(Long progressId, Long taskId, String json, Instant updatedAt) {
+        PendingDraft previous = pending.put(new DraftKey(progressId, taskId), new PendingDraft(json, updatedAt));
+
+        received.increment();
+        if (previous != null) coalesced.increment();
+    }
+
+    // Writes the buffered draft for one answer, if any. Call from a read-write transaction: the
+    // upsert runs on the caller's connection (no second pooled connection per request), and the
+    // entry is dropped only once that transaction commits, so a rollback leaves it buffered.
+    public void flush(Long progressId, Long taskId) {
+        DraftKey key = new DraftKey(progressId, taskId);
+        PendingDraft draft = pending.get(key);
+        if (draft == null) return;
+
+        forcedFlush.record(() -> write(key, draft));
+        afterCommit(() -> pending.remove(key, draft));
+    }
+
+    @Scheduled(fixedDelayString = "${app.answers.drafts.flush-interval-ms}")
+    void flushPending() {
+        if (pending.isEmpty()) return;
+        scheduledFlush.record(this::flushAll);
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        int left = pending.size();
+        if (left == 0) return;
+        log.info("Flushing {} buffered answer drafts before shutdown", left);
+        flushAll();
+    }
+
+    private void flushAll() {
+        List<Map.Entry<DraftKey, PendingDraft>> batch = new ArrayList<>(batchSize);
+        for (Map.Entry<DraftKey, PendingDraft> e : pending.entrySet()) {
+            batch.add(Map.entry(e.getKey(), e.getValue()));
+            if (batch.size() == batchSize) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) writeBatch(batch);
+    }
+
+    private void writeBatch(List<Map.Entry<DraftKey, PendingDraft>> batch) {
+        try {
+            ownTx.executeWithoutResult(s -> jdbcTemplate.batchUpdate(UPSERT_SQL, batch, batch.size(), (ps, e) -> {
+                ps.setLong(1, e.getKey().progressId());
+                ps.setLong(2, e.getKey().taskId());
+                ps.setString(3, e.getValue().json());
+                ps.setTimestamp(4, Timestamp.from(e.getValue().updatedAt()));
+            }));
+            written.increment(batch.size());
+        } catch (DataAccessException ex) {
+            // One bad row (e.g. its progress was deleted meanwhile) must not sink the rest.
+            log.warn("Draft batch of {} failed, retrying row by row: {}", batch.size(), ex.getMessage());
+            for (Map.Entry<DraftKey, PendingDraft> e : batch) {
+                try {
+                    ownTx.executeWithoutResult(s -> write(e.getKey(), e.getValue()));
+                } catch (DataAccessException rowEx) {
+                    log.warn("Dropping answer draft {}: {}", e.getKey(), rowEx.getMessage());
+                }
+            }
+        }
+        // why: conditional remove - a newer draft that arrived during the write stays dirty.
+        for (Map.Entry<DraftKey, PendingDraft> e : batch) {
+            pending.remove(e.getKey(), e.getValue());
+        }
+    }
+
+    private void write(DraftKey key, PendingDraft draft) {
+        jdbcTemplate.update(UPSERT_SQL, key.progressId(), key.taskId(), draft.json(), Timestamp.from(draft.updatedAt()));
+        written.increment();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.app.english.service;
+
+import com.app.english.config.GradingProperties;
+import com.app.english.models.TaskType;
+import com.app.english.repository.TaskVocabularyRepository;
+import com.app.english.service.AnswerKeyCache.AnswerKey;
+import com.app.english.service.TermMatcher.Match;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Scores vocabulary submissions against compiled answer keys. A submit is graded inline with
+// one streaming pass over its JSON; when a task's key changes, every submitted answer for it is
+// regraded in the background, batch by batch, with the scoring fanned out over a fork/join pool.
+@Component
+public class AnswerGrader {
+
+    private static final Logger log = LoggerFactory.getLogger(AnswerGrader.class);
+
+    // Below this many answers a fork/join task scores its slice itself instead of splitting.
+    private static final int SPLIT_THRESHOLD = 256;
+
+    private static final String SELECT_SUBMITTED_SQL = """
+            select id, answer_json::text, submitted_at
+              from lesson_task_answers
+             where task_id = ? and status = 'SUBMITTED' and id > ?
+             order by id
+             limit ?
+            """;
+
+    // why: status and submitted_at guard against a row that went back to DRAFT or was resubmitted
+    // (and graded inline against the new answer) while the batch was being scored.
+    private static final String UPDATE_SCORE_SQL = """
+            update lesson_task_answers
+               set score = ?, max_score = ?, near_misses = cast(? as jsonb)
+             where id = ? and status = 'SUBMITTED' and submitted_at = ?
+            """;
+
+    // nearMisses: JSON object {"<vocabularyId>": "DIACRITICS_ONLY" | "TYPO"} for items that were
+    // accepted only thanks to tolerant matching, or null when there were none.
+    public record Grade(int score, int maxScore, String nearMisses) {}
+
+    private record StoredAnswer(long id, String json, OffsetDateTime submittedAt) {}
+
+    private final AnswerKeyCache answerKeyCache;
+    private final TaskVocabularyRepository taskVocabularyRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonFactory jsonFactory;
+    private final int batchSize;
+
+    // Regrades run one at a time, so two edits of the same task can't race each other.
+    private final ExecutorService regradeRunner;
+    private final ForkJoinPool scoringPool;
+
+    private final Timer gradeTimer;
+    private final Counter regraded;
+
+    public AnswerGrader(
+            AnswerKeyCache answerKeyCache,
+            TaskVocabularyRepository taskVocabularyRepository,
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            GradingProperties props,
+            MeterRegistry meterRegistry
+    ) {
+        this.answerKeyCache = answerKeyCache;
+        this.taskVocabularyRepository = taskVocabularyRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonFactory = objectMapper.getFactory();
+        this.batchSize = props.regradeBatchSize();
+
+        int parallelism = (props.regradeParallelism() > 0)
+                ? props.regradeParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.regradeRunner = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("answer-regrade-"));
+        this.scoringPool = new ForkJoinPool(parallelism);
+
+        this.gradeTimer = Timer.builder("answers.grading.duration").register(meterRegistry);
+        this.regraded = Counter.builder("answers.grading.regraded").register(meterRegistry);
+    }
+
+    // null when the task is not auto-graded.
+    public Grade grade(Long taskId, String answerJson) {
+        AnswerKey key = answerKeyCache.get(taskId);
+        if (key == null) return null;
+        return gradeTimer.record(() -> score(key, answerJson));
+    }
+
+    // Call from the transaction that changes a task's payload or vocabulary list.
+    public void regradeTask(Long taskId) {
+        answerKeyCache.invalidate(taskId);
+        afterCommit(() -> regradeRunner.execute(() -> regrade(taskId)));
+    }
+
+    // Call from the transaction that changes a vocabulary item's terms.
+    public void regradeForVocabulary(Long vocabularyId) {
+        for (Long taskId : taskVocabularyRepository.findTaskIdsByVocabularyId(vocabularyId)) {
+            regradeTask(taskId);
+        }
+    }
+
+    private void regrade(long taskId) {
+        try {
+            AnswerKey key = answerKeyCache.get(taskId);
+            long afterId = 0L;
+            while (true) {
+                List<StoredAnswer> rows = jdbcTemplate.query(
+                        SELECT_SUBMITTED_SQL,
+                        (rs, n) -> new StoredAnswer(rs.getLong(1), rs.getString(2), rs.getObject(3, OffsetDateTime.class)),
+                        taskId, afterId, batchSize);
+                if (rows.isEmpty()) break;
+
+                Grade[] grades = new Grade[rows.size()];
+                if (key != null) {
+                    scoringPool.invoke(new ScoreSlice(key, rows, grades, 0, rows.size()));
+                }
+
+                jdbcTemplate.batchUpdate(UPDATE_SCORE_SQL, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Grade g = grades[i];
+                        if (g == null) {
+                            ps.setNull(1, Types.INTEGER);
+                            ps.setNull(2, Types.INTEGER);
+                            ps.setNull(3, Types.VARCHAR);
+                        } else {
+                            ps.setInt(1, g.score());
+                            ps.setInt(2, g.maxScore());
+                            ps.setString(3, g.nearMisses());
+                        }
+                        StoredAnswer row = rows.get(i);
+                        ps.setLong(4, row.id());
+                        ps.setObject(5, row.submittedAt());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                });
+                regraded.increment(rows.size());
+
+                if (rows.size() < batchSize) break;
+                afterId = rows.getLast().id();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Regrading answers of task {} failed", taskId, e);
+        }
+    }
+
+    // Splits a batch in halves until slices are small enough to score directly.
+    private final class ScoreSlice extends RecursiveAction {
+        private final AnswerKey key;
+        private final List<StoredAnswer> rows;
+        private final Grade[] out;
+        private final int from;
+        private final int to;
+
+        ScoreSlice(AnswerKey key, List<StoredAnswer> rows, Grade[] out, int from, int to) {
+            this.key = key;
+            this.rows = rows;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) out[i] = score(key, rows.get(i).json());
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ScoreSlice(key, rows, out, from, mid), new ScoreSlice(key, rows, out, mid, to));
+        }
+    }
+
+    // One point per key item answered correctly; unknown ids and repeated entries are ignored.
+    // Typed answers also score when they differ only in accents or by a small typo; picked
+    // answers (MCQ / matching) must match exactly.
+    Grade score(AnswerKey key, String json) {
+        int max = key.maxScore();
+        if (json == null || max == 0) return new Grade(0, max, null);
+
+        boolean tolerant = key.type() == TaskType.VOCAB_TYPING;
+        boolean[] seen = new boolean[max];
+        int score = 0;
+        StringBuilder nearMisses = null;
+        try (JsonParser p = jsonFactory.createParser(json)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) return new Grade(0, max, null);
+
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                long vocabularyId = parseId(p.currentName());
+                int i = key.indexOf(vocabularyId);
+                JsonToken value = p.nextToken();
+                if (i < 0 || seen[i]) {
+                    p.skipChildren();
+                    continue;
+                }
+                seen[i] = true;
+
+                Match match = switch (value) {
+                    case VALUE_NUMBER_INT -> key.acceptsId(i, p.getLongValue()) ? Match.EXACT : Match.WRONG;
+                    case VALUE_STRING -> key.classify(i, p.getText());
+                    default -> Match.WRONG;
+                };
+                if (match == Match.EXACT) {
+                    score++;
+                } else if (tolerant && match != Match.WRONG) {
+                    score++;
+                    nearMisses = (nearMisses == null) ? new StringBuilder("{") : nearMisses.append(',');
+                    nearMisses.append('"').append(vocabularyId).append("\":\"").append(match.name()).append('"');
+                }
+                p.skipChildren();
+            }
+        } catch (IOException e) {
+            // why: stored answers were validated on write; anything unreadable simply scores what it got so far.
+            log.debug("Unreadable answer while grading task {}", key.taskId(), e);
+        }
+        return new Grade(score, max, (nearMisses == null) ? null : nearMisses.append('}').toString());
+    }
+
+    // Non-negative decimal id, or -1 for anything else (no exception on the hot path).
+    private static long parseId(String s) {
+        if (s == null || s.isEmpty() || s.length() > 18) return -1L;
+        long v = 0L;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1L;
+            v = v * 10 + (c - '0');
+        }
+        return v;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        regradeRunner.shutdownNow();
+        scoringPool.shutdownNow();
+    }
+}
@@ -0,0 +1,71 @@
+package com.app.english.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+// Pulls the "answer" value out of a {"answer": ...} request body as raw JSON text. The body is
+// tokenized once (which is the validation) and the value is sliced out of the original bytes,
+// so no tree or Map is built and the text stored is exactly what the client sent.
+@Component
+public class AnswerJsonReader {
+
+    private static final String FIELD = "answer";
+
+    private final JsonFactory jsonFactory;
+
+    public AnswerJsonReader(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    // null when the field is missing or JSON null.
+    public String readAnswer(byte[] body) {
+        if (body == null || body.length == 0) {
+            throw new IllegalArgumentException("Request body is required");
+        }
+
+        try (JsonParser p = jsonFactory.createParser(body)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Request body must be a JSON object");
+            }
+
+            String answer = null;
+            JsonToken t;
+            while ((t = p.nextToken()) == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+
+                if (!FIELD.equals(field) || value == JsonToken.VALUE_NULL) {
+                    p.skipChildren();
+                    continue;
+                }
+
+                int start = (int) p.currentTokenLocation().getByteOffset();
+                if (value.isStructStart()) {
+                    p.skipChildren();
+                } else {
+                    // why: string contents are parsed lazily; consume them so the end offset is real.
+                    p.finishToken();
+                }
+                int end = (int) p.currentLocation().getByteOffset();
+                answer = new String(body, start, end - start, StandardCharsets.UTF_8);
+            }
+
+            if (t != JsonToken.END_OBJECT || p.nextToken() != null) {
+                throw new IllegalArgumentException("Answer is not valid JSON");
+            }
+            return answer;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Answer is not valid JSON", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.app.english.service;
+
+import com.app.english.config.GradingProperties;
+import com.app.english.models.Task;
+import com.app.english.models.TaskType;
+import com.app.english.models.TaskVocabulary;
+import com.app.english.models.Vocabulary;
+import com.app.english.repository.TaskRepository;
+import com.app.english.repository.TaskVocabularyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// taskId -> compiled answer key. A key depends on the task payload and its vocabulary, so
+// TaskService and VocabularyService invalidate it (through AnswerGrader) when either changes.
+@Component
+public class AnswerKeyCache {
+
+    private static final Set<TaskType> GRADED = EnumSet.of(TaskType.VOCAB_MCQ, TaskType.VOCAB_MATCHING, TaskType.VOCAB_TYPING);
+
+    private final TaskRepository taskRepository;
+    private final TaskVocabularyRepository taskVocabularyRepository;
+    private final Cache<Long, Optional<AnswerKey>> cache;
+    private final AtomicLong versions = new AtomicLong();
+    private final int typoMaxDistance;
+    private final int typoMinLength;
+
+    public AnswerKeyCache(
+            TaskRepository taskRepository,
+            TaskVocabularyRepository taskVocabularyRepository,
+            GradingProperties props,
+            MeterRegistry meterRegistry
+    ) {
+        this.taskRepository = taskRepository;
+        this.taskVocabularyRepository = taskVocabularyRepository;
+        this.typoMaxDistance = props.typoMaxDistance();
+        this.typoMinLength = props.typoMinLength();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(props.keyCacheMaxSize())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "grading.keys");
+    }
+
+    // null when the task does not exist or its type is not auto-graded.
+    public AnswerKey get(Long taskId) {
+        return cache.get(taskId, this::load).orElse(null);
+    }
+
+    public void invalidate(Long taskId) {
+        cache.invalidate(taskId);
+
+        // why: a submit in flight could compile the old payload again before our commit.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(taskId);
+                }
+            });
+        }
+    }
+
+    private Optional<AnswerKey> load(Long taskId) {
+        Task task = taskRepository.findById(taskId).orElse(null);
+        if (task == null || !GRADED.contains(task.getType())) return Optional.empty();
+
+        List<TaskVocabulary> rows = taskVocabularyRepository.findWithVocabularyByTaskIds(List.of(taskId));
+        // why: only typed answers get a typo allowance; picked choices must match exactly.
+        int distance = (task.getType() == TaskType.VOCAB_TYPING) ? typoMaxDistance : 0;
+        return Optional.of(AnswerKey.compile(task, rows, versions.incrementAndGet(), distance, typoMinLength));
+    }
+
+    // Immutable, pre-normalized answer key for one task version. Items are sorted by vocabulary
+    // id so a submission is scored with one pass over its JSON and a binary search per entry.
+    //
+    // Expected submission shape for all graded types: {"<vocabularyId>": response, ...}
+    //  - VOCAB_MCQ / VOCAB_MATCHING: the id of the chosen vocabulary item, or its text
+    //  - VOCAB_TYPING: the typed text
+    // Text is compared against the target-language term: Polish unless payload.direction
+    // starts with "PL" (PL -> EN). A term may list alternatives separated by '/' or ';'.
+    public static final class AnswerKey {
+
+        private static final Pattern VARIANT_SEPARATOR = Pattern.compile("[/;]");
+
+        private final long taskId;
+        private final long version;
+        private final TaskType type;
+        private final long[] vocabularyIds;   // sorted
+        private final TermMatcher[][] accepted; // spelling variants, aligned with vocabularyIds
+
+        private AnswerKey(long taskId, long version, TaskType type, long[] vocabularyIds, TermMatcher[][] accepted) {
+            this.taskId = taskId;
+            this.version = version;
+            this.type = type;
+            this.vocabularyIds = vocabularyIds;
+            this.accepted = accepted;
+        }
+
+        // True when answers are expected in English (payload.direction "PL -> EN"), else Polish.
+        static boolean answersInEnglish(Task task) {
+            Object direction = task.getPayload().get("direction");
+            return direction instanceof String d && d.trim().toUpperCase(Locale.ROOT).startsWith("PL");
+        }
+
+        static AnswerKey compile(Task task, List<TaskVocabulary> rows, long version, int maxDistance, int minLength) {
+            boolean toEnglish = answersInEnglish(task);
+
+            Vocabulary[] vocab = rows.stream()
+                    .map(TaskVocabulary::getVocabulary)
+                    .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                    .toArray(Vocabulary[]::new);
+
+            long[] ids = new long[vocab.length];
+            TermMatcher[][] accepted = new TermMatcher[vocab.length][];
+            for (int i = 0; i < vocab.length; i++) {
+                ids[i] = vocab[i].getId();
+                String term = toEnglish ? vocab[i].getTermEn() : vocab[i].getTermPl();
+                // the whole term stays accepted too, for entries like "and/or"
+                accepted[i] = Stream.concat(Stream.of(term), VARIANT_SEPARATOR.splitAsStream(term))
+                        .filter(v -> !v.isBlank())
+                        .distinct()
+                        .map(v -> TermMatcher.compile(v, maxDistance, minLength))
+                        .toArray(TermMatcher[]::new);
+            }
+            return new AnswerKey(task.getId(), version, task.getType(), ids, accepted);
+        }
+
+        public long taskId() { return taskId; }
+
+        // Changes whenever the key is recompiled after an invalidation.
+        public long version() { return version; }
+
+        public TaskType type() { return type; }
+
+        public int maxScore() { return vocabularyIds.length; }
+
+        // Item index for a vocabulary id, or -1 when it is not part of this task.
+        public int indexOf(long vocabularyId) {
+            int i = Arrays.binarySearch(vocabularyIds, vocabularyId);
+            return i >= 0 ? i : -1;
+        }
+
+        public boolean acceptsId(int index, long chosenId) {
+            return type != TaskType.VOCAB_TYPING && vocabularyIds[index] == chosenId;
+        }
+
+        // Best classification of typed / chosen text against the item's accepted variants.
+        public TermMatcher.Match classify(int index, String text) {
+            String normalized = TermMatcher.normalize(text);
+            String folded = TermMatcher.fold(normalized);
+            TermMatcher.Match best = TermMatcher.Match.WRONG;
+            for (TermMatcher m : accepted[index]) {
+                TermMatcher.Match match = m.classify(normalized, folded);
+                if (match.compareTo(best) < 0) best = match;
+                if (best == TermMatcher.Match.EXACT) break;
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.app.english.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+// Sparse ordering keys for LessonAssignment.displayOrder (ascending = higher on the list).
+// Keys are spread out so one assignment can be moved between two neighbours by
+// rewriting only its own key; a bucket is renumbered only when a gap runs out.
+final class AssignmentOrderKeys {
+
+    // Spacing written by a rebalance; ~2^43 moves between two neighbours fit before the next one.
+    static final long GAP = 1L << 20;
+
+    // Smallest spacing newTopKeys leaves between keys, so a later move still fits between them.
+    static final long MIN_GAP = 16L;
+
+    // Each clock microsecond owns the key window [-(micros * this), -(micros - 1) * this).
+    private static final long TIME_SCALE = 1024L;
+
+    private AssignmentOrderKeys() {}
+
+    // Keys for n new assignments placed above everything already in the bucket, in the given order.
+    // currentTop is the bucket's smallest key (null when empty). Keys stay inside this microsecond's
+    // window when it has room, so concurrent inserts in other microseconds can't collide with them;
+    // otherwise they go just above currentTop, MIN_GAP apart.
+    static long[] newTopKeys(int n, Long currentTop) {
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+        long base = -(micros * TIME_SCALE);
+        long ceiling = (currentTop == null) ? base + TIME_SCALE : Math.min(currentTop, base + TIME_SCALE);
+        long step = Math.max(MIN_GAP, (ceiling - base) / (n + 1L));
+
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = ceiling - (n - i) * step;
+        }
+        return keys;
+    }
+
+    // Key strictly between two neighbours (either may be null = list edge), or null if they are adjacent.
+    static Long between(Long above, Long below) {
+        if (above == null && below == null) {
+            throw new IllegalArgumentException("At least one neighbour is required");
+        }
+        if (above == null) return (below > Long.MIN_VALUE + GAP) ? below - GAP : null;
+        if (below == null) return (above < Long.MAX_VALUE - GAP) ? above + GAP : null;
+
+        // why: overflow-safe midpoint
+        long mid = (above >> 1) + (below >> 1) + (above & below & 1L);
+        return (mid > above && mid < below) ? mid : null;
+    }
+}
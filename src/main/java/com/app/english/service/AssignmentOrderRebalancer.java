@@ -0,0 +1,48 @@
+package com.app.english.service;
+
+import com.app.english.repository.GroupRepository;
+import com.app.english.repository.LessonAssignmentRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Renumbers assignment buckets whose ordering keys have become dense, off the request path,
+// so moves rarely have to rebalance synchronously.
+@Component
+public class AssignmentOrderRebalancer {
+
+    // Neighbours closer than this get a renumber (leaves room for a handful of moves).
+    private static final long MIN_GAP = 16L;
+    private static final int MAX_BUCKETS_PER_RUN = 100;
+
+    private final LessonAssignmentRepository lessonAssignmentRepository;
+    private final GroupRepository groupRepository;
+    private final TransactionTemplate tx;
+
+    public AssignmentOrderRebalancer(
+            LessonAssignmentRepository lessonAssignmentRepository,
+            GroupRepository groupRepository,
+            TransactionTemplate tx
+    ) {
+        this.lessonAssignmentRepository = lessonAssignmentRepository;
+        this.groupRepository = groupRepository;
+        this.tx = tx;
+    }
+
+    @Scheduled(fixedDelayString = "${app.assignments.rebalance-interval-ms}")
+    void rebalanceDenseBuckets() {
+        List<Object[]> buckets = lessonAssignmentRepository.findDenseBuckets(MIN_GAP, MAX_BUCKETS_PER_RUN);
+        for (Object[] b : buckets) {
+            Long groupId = ((Number) b[0]).longValue();
+            Long userId = (b[1] == null) ? null : ((Number) b[1]).longValue();
+            // why: one short transaction per bucket, so a big run never holds many row locks.
+            tx.executeWithoutResult(s -> {
+                // same lock as moves, so a move never computes a key from neighbours we are renumbering
+                groupRepository.lockAssignmentOrdering(groupId);
+                lessonAssignmentRepository.rebalanceBucket(groupId, userId, AssignmentOrderKeys.GAP);
+            });
+        }
+    }
+}
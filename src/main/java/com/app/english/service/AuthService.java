@@ -5,72 +5,81 @@ import com.app.english.exceptions.InvalidCredentialsException;
 import com.app.english.models.Role;
 import com.app.english.models.User;
 import com.app.english.repository.UserRepository;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
+    private final TransactionTemplate tx;
 
     public AuthService(
             UserRepository userRepository,
-            PasswordEncoder passwordEncoder,
+            PasswordHashingService passwordHashingService,
             JwtService jwtService,
-            RefreshTokenService refreshTokenService
+            RefreshTokenService refreshTokenService,
+            TransactionTemplate tx
     ) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.jwtService = jwtService;
         this.refreshTokenService = refreshTokenService;
+        this.tx = tx;
     }
 
     public record AuthResult(String accessToken, String refreshToken) {}
 
-    @Transactional
+    // why: not @Transactional, so no DB connection is held while waiting for the hashing pool;
+    // only the user insert and its first refresh token share a transaction, so a failed issue
+    // doesn't leave behind an account the client never got tokens for.
     public AuthResult register(String email, String password) {
         if (userRepository.existsByEmail(email)) {
             throw new EmailAlreadyExistsException("Email already exists");
         }
 
-        String hash = passwordEncoder.encode(password);
-        User user = userRepository.save(new User(email, hash, Role.USER));
+        String hash = passwordHashingService.encode(password);
+        return tx.execute(status -> {
+            User user = userRepository.save(new User(email, hash, Role.USER));
 
-        String access = jwtService.generateAccessToken(user.getEmail(), user.getRole());
-        String refresh = refreshTokenService.issue(user).rawToken();
+            String access = jwtService.generateAccessToken(user.getId(), user.getEmail(), user.getRole());
+            String refresh = refreshTokenService.issue(user).rawToken();
 
-        return new AuthResult(access, refresh);
+            return new AuthResult(access, refresh);
+        });
     }
 
-    @Transactional
     public AuthResult login(String email, String password) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new InvalidCredentialsException("Invalid credentials"));
 
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+        if (!passwordHashingService.matches(password, user.getPasswordHash())) {
             throw new InvalidCredentialsException("Invalid credentials");
         }
 
-        String access = jwtService.generateAccessToken(user.getEmail(), user.getRole());
+        // why: hashes made with a lower cost than the current target are upgraded transparently on login.
+        if (passwordHashingService.needsRehash(user.getPasswordHash())) {
+            user.changePasswordHash(passwordHashingService.encode(password));
+            user = userRepository.save(user);
+        }
+
+        String access = jwtService.generateAccessToken(user.getId(), user.getEmail(), user.getRole());
         String refresh = refreshTokenService.issue(user).rawToken();
 
         return new AuthResult(access, refresh);
     }
 
-    @Transactional
+    // why: no surrounding transaction - rotation is a single statement and must commit its
+    // reuse-detection revocations even when it rejects the token.
     public AuthResult refresh(String oldRefreshToken) {
-        User user = refreshTokenService.validateAndGetUser(oldRefreshToken);
-
-        refreshTokenService.rotate(oldRefreshToken);
+        var rotation = refreshTokenService.rotate(oldRefreshToken);
 
-        String access = jwtService.generateAccessToken(user.getEmail(), user.getRole());
-        String refresh = refreshTokenService.issue(user).rawToken();
-
-        return new AuthResult(access, refresh);
+        String access = jwtService.generateAccessToken(rotation.userId(), rotation.email(), rotation.role());
+        return new AuthResult(access, rotation.issued().rawToken());
     }
 
     @Transactional
@@ -0,0 +1,112 @@
+package com.app.english.service;
+
+import com.app.english.dto.lessons.GradebookResponse;
+import com.app.english.models.LessonProgressStatus;
+import com.app.english.repository.LessonAssignmentRepository;
+import com.app.english.repository.LessonProgressRepository;
+import com.app.english.repository.MembershipRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Whole-group progress for teachers: four set-based queries (students, columns with task
+// totals, progress cells from the counters, not-started anti-join), assembled in memory.
+@Service
+public class GradebookService {
+
+    private static final int NOT_ASSIGNED = -1;
+
+    // why: sent with every gradebook, so clients decode status codes without relying on the enum order.
+    private static final List<String> STATUSES = Arrays.stream(LessonProgressStatus.values())
+            .map(Enum::name)
+            .toList();
+
+    private final MembershipRepository membershipRepository;
+    private final LessonAssignmentRepository lessonAssignmentRepository;
+    private final LessonProgressRepository lessonProgressRepository;
+    private final GroupAuthorization groupAuthorization;
+
+    public GradebookService(
+            MembershipRepository membershipRepository,
+            LessonAssignmentRepository lessonAssignmentRepository,
+            LessonProgressRepository lessonProgressRepository,
+            GroupAuthorization groupAuthorization
+    ) {
+        this.membershipRepository = membershipRepository;
+        this.lessonAssignmentRepository = lessonAssignmentRepository;
+        this.lessonProgressRepository = lessonProgressRepository;
+        this.groupAuthorization = groupAuthorization;
+    }
+
+    @Transactional(readOnly = true)
+    public GradebookResponse getGradebook(Long teacherId, Long groupId) {
+        groupAuthorization.requireTeacher(teacherId, groupId);
+
+        List<Object[]> studentRows = membershipRepository.findStudentRowsByGroupId(groupId);
+        List<GradebookResponse.Student> students = new ArrayList<>(studentRows.size());
+        Map<Long, Integer> rowOf = new HashMap<>(studentRows.size() * 2);
+        for (Object[] r : studentRows) {
+            Long userId = (Long) r[0];
+            rowOf.put(userId, students.size());
+            students.add(new GradebookResponse.Student(userId, (String) r[1]));
+        }
+
+        Map<Long, Long> notStarted = new HashMap<>();
+        for (Object[] r : lessonProgressRepository.countNotStartedByAssignment(groupId)) {
+            notStarted.put((Long) r[0], ((Number) r[1]).longValue());
+        }
+
+        List<Object[]> columnRows = lessonAssignmentRepository.findGradebookColumns(groupId);
+        List<GradebookResponse.Column> columns = new ArrayList<>(columnRows.size());
+        Map<Long, Integer> colOf = new HashMap<>(columnRows.size() * 2);
+        for (Object[] r : columnRows) {
+            Long assignmentId = (Long) r[0];
+            colOf.put(assignmentId, columns.size());
+            columns.add(new GradebookResponse.Column(
+                    assignmentId,
+                    (Long) r[1],
+                    (String) r[2],
+                    (Long) r[3],
+                    ((Number) r[4]).intValue(),
+                    notStarted.getOrDefault(assignmentId, 0L)
+            ));
+        }
+
+        int rows = students.size();
+        int cols = columns.size();
+        int[] status = new int[rows * cols];
+        int[] done = new int[rows * cols];
+        long[] lastActivity = new long[rows * cols];
+
+        // Default every applicable cell to NOT_STARTED; personal assignments apply to one row only.
+        Arrays.fill(status, NOT_ASSIGNED);
+        for (int c = 0; c < cols; c++) {
+            Long assignee = columns.get(c).assignedToUserId();
+            if (assignee == null) {
+                for (int r = 0; r < rows; r++) status[r * cols + c] = LessonProgressStatus.NOT_STARTED.ordinal();
+            } else {
+                Integer r = rowOf.get(assignee);
+                if (r != null) status[r * cols + c] = LessonProgressStatus.NOT_STARTED.ordinal();
+            }
+        }
+
+        for (Object[] p : lessonProgressRepository.findGradebookCells(groupId)) {
+            Integer r = rowOf.get((Long) p[0]);
+            Integer c = colOf.get((Long) p[1]);
+            if (r == null || c == null) continue; // progress of a former member
+
+            int cell = r * cols + c;
+            status[cell] = ((LessonProgressStatus) p[2]).ordinal();
+            done[cell] = ((Number) p[3]).intValue();
+            lastActivity[cell] = ((Instant) p[4]).toEpochMilli();
+        }
+
+        return new GradebookResponse(groupId, students, columns, STATUSES, status, done, lastActivity);
+    }
+}
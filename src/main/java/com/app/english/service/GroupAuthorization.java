@@ -0,0 +1,109 @@
+package com.app.english.service;
+
+import com.app.english.config.GroupRoleCacheProperties;
+import com.app.english.exceptions.ForbiddenException;
+import com.app.english.exceptions.GroupNotFoundException;
+import com.app.english.models.GroupRole;
+import com.app.english.models.LessonAssignment;
+import com.app.english.models.LessonStatus;
+import com.app.english.repository.GroupRepository;
+import com.app.english.repository.MembershipRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Optional;
+
+// Single place for "is this user a member / teacher of this group" checks. Roles are cached
+// per (user, group) for a short TTL and dropped whenever a membership row changes.
+@Component
+public class GroupAuthorization {
+
+    private record MemberKey(long userId, long groupId) {}
+
+    private final MembershipRepository membershipRepository;
+    private final GroupRepository groupRepository;
+    private final Cache<MemberKey, GroupRole> roles;
+
+    public GroupAuthorization(
+            MembershipRepository membershipRepository,
+            GroupRepository groupRepository,
+            GroupRoleCacheProperties props,
+            MeterRegistry meterRegistry
+    ) {
+        this.membershipRepository = membershipRepository;
+        this.groupRepository = groupRepository;
+        this.roles = Caffeine.newBuilder()
+                .maximumSize(props.maxSize())
+                .expireAfterWrite(props.ttl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, roles, "groups.roles");
+    }
+
+    public Optional<GroupRole> roleOf(Long userId, Long groupId) {
+        // why: non-members are not cached, so a fresh join is visible on the very next request.
+        return Optional.ofNullable(roles.get(new MemberKey(userId, groupId),
+                k -> membershipRepository.findRole(k.userId(), k.groupId()).orElse(null)));
+    }
+
+    public boolean isMember(Long userId, Long groupId) {
+        return roleOf(userId, groupId).isPresent();
+    }
+
+    public GroupRole requireMember(Long userId, Long groupId) {
+        return roleOf(userId, groupId).orElseThrow(() -> {
+            if (!groupRepository.existsById(groupId)) return new GroupNotFoundException("Group not found");
+            return new ForbiddenException("Not a member of this group");
+        });
+    }
+
+    public void requireTeacher(Long userId, Long groupId) {
+        if (requireMember(userId, groupId) != GroupRole.TEACHER) {
+            throw new ForbiddenException("Teacher role required");
+        }
+    }
+
+    // A student may open an assignment of their group that is meant for them (or group-wide),
+    // currently visible and not archived. The assignment must be loaded with its lesson and group.
+    public void requireStudentAccess(Long userId, LessonAssignment a) {
+        requireMember(userId, a.getGroup().getId());
+
+        if (a.getAssignedToUser() != null && !a.getAssignedToUser().getId().equals(userId)) {
+            throw new ForbiddenException("This lesson is assigned to another user");
+        }
+
+        Instant now = Instant.now();
+        if (a.getVisibleFrom() != null && a.getVisibleFrom().isAfter(now)) {
+            throw new ForbiddenException("Lesson not visible yet");
+        }
+        if (a.getVisibleTo() != null && a.getVisibleTo().isBefore(now)) {
+            throw new ForbiddenException("Lesson is no longer visible");
+        }
+
+        if (a.getLesson().getStatus() == LessonStatus.ARCHIVED) {
+            throw new ForbiddenException("Lesson is archived");
+        }
+    }
+
+    public void evict(Long userId, Long groupId) {
+        MemberKey key = new MemberKey(userId, groupId);
+        roles.invalidate(key);
+
+        // why: a request racing this transaction could re-load the old role before commit.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    roles.invalidate(key);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.app.english.service;
+
+import com.app.english.config.ExportProperties;
+import com.app.english.exceptions.ServiceBusyException;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import javax.sql.DataSource;
+
+// Streams every student's progress and submitted answers of a group straight from a
+// forward-only cursor to the response. Memory use is one fetch batch regardless of group size.
+// Connections come from the separate export pool (ExportDataSourceConfig).
+@Service
+public class GroupExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    // Driven by membership: every student gets a row for each assignment that applies to them
+    // (NOT_STARTED when there is no progress yet), and a student without any assignment still
+    // gets one row with the assignment columns empty.
+    private static final String EXPORT_SQL = """
+            select u.id as user_id, u.email, a.id as assignment_id, l.id as lesson_id, l.title as lesson_title,
+                   case when a.id is null then null else coalesce(p.status, 'NOT_STARTED') end as progress_status,
+                   p.completed_count, p.total_count, p.started_at, p.completed_at,
+                   ans.task_id, ans.submitted_at, ans.answer_json::text as answer_json
+              from memberships m
+              join users u on u.id = m.user_id
+              left join lesson_assignments a on a.group_id = m.group_id
+                                            and (a.assigned_to_user_id is null or a.assigned_to_user_id = m.user_id)
+              left join lessons l on l.id = a.lesson_id
+              left join lesson_progress p on p.assignment_id = a.id and p.user_id = m.user_id
+              left join lesson_task_answers ans on ans.progress_id = p.id and ans.status = 'SUBMITTED'
+             where m.group_id = ? and m.role = 'STUDENT'
+             order by u.id, a.id, ans.task_id
+            """;
+
+    private static final String[] COLUMNS = {
+            "userId", "email", "assignmentId", "lessonId", "lessonTitle", "progressStatus", "completedCount",
+            "totalCount", "startedAt", "completedAt", "taskId", "submittedAt", "answer"
+    };
+
+    private final DataSource exportDataSource;
+    private final int fetchSize;
+    private final long retryAfterSeconds;
+    private final GroupAuthorization groupAuthorization;
+    private final ObjectMapper objectMapper;
+
+    public GroupExportService(
+            @Qualifier("export") DataSource exportDataSource,
+            ExportProperties props,
+            GroupAuthorization groupAuthorization,
+            ObjectMapper objectMapper
+    ) {
+        this.exportDataSource = exportDataSource;
+
+        this.fetchSize = props.fetchSize();
+        this.retryAfterSeconds = props.retryAfterSeconds();
+        this.groupAuthorization = groupAuthorization;
+        this.objectMapper = objectMapper;
+    }
+
+    // Checks access on the request thread. The connection is only taken inside the body, so a
+    // body that never runs (client gone, async timeout) can't leak it; a pool timeout there
+    // happens before anything is written, so it still reaches the client as a 503.
+    public StreamingResponseBody export(Long teacherId, Long groupId, Format format) {
+        groupAuthorization.requireTeacher(teacherId, groupId);
+
+        return out -> {
+            try (Connection connection = acquire();
+                 PreparedStatement ps = connection.prepareStatement(
+                         EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                ps.setFetchSize(fetchSize);
+                ps.setLong(1, groupId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (format == Format.CSV) writeCsv(rs, out);
+                    else writeNdjson(rs, out);
+                }
+                connection.rollback(); // read-only; just end the transaction before the pool takes it back
+            } catch (SQLException e) {
+                throw new IllegalStateException("Export of group " + groupId + " failed", e);
+            }
+        };
+    }
+
+    private Connection acquire() {
+        try {
+            return exportDataSource.getConnection();
+        } catch (SQLException e) {
+            throw new ServiceBusyException("Too many exports running, try again later", retryAfterSeconds);
+        }
+    }
+
+    private void writeCsv(ResultSet rs, OutputStream out) throws SQLException, IOException {
+        Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        w.write(String.join(",", COLUMNS));
+        w.write("\r\n");
+        while (rs.next()) {
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (i > 0) w.write(',');
+                writeCsvField(w, text(rs, i + 1));
+            }
+            w.write("\r\n");
+        }
+        w.flush();
+    }
+
+    // RFC 4180: quote only when needed, double embedded quotes.
+    // why: cells are student-entered text opened in spreadsheets; anything a spreadsheet would
+    // read as a formula gets a leading ' so it stays plain text.
+    private static void writeCsvField(Writer w, String value) throws IOException {
+        if (value == null) return;
+        if (startsLikeFormula(value)) value = "'" + value;
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            w.write(value);
+            return;
+        }
+        w.write('"');
+        w.write(value.replace("\"", "\"\""));
+        w.write('"');
+    }
+
+    private static boolean startsLikeFormula(String value) {
+        if (value.isEmpty()) return false;
+        char c = value.charAt(0);
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+
+    private void writeNdjson(ResultSet rs, OutputStream out) throws SQLException, IOException {
+        try (JsonGenerator g = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            g.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // why: the default root separator is a space, which would start every line after the first.
+            g.setRootValueSeparator(null);
+            int last = COLUMNS.length;
+            while (rs.next()) {
+                g.writeStartObject();
+                for (int i = 1; i < last; i++) {
+                    g.writeFieldName(COLUMNS[i - 1]);
+                    writeJsonValue(g, rs, i);
+                }
+                // the stored answer is already JSON text: copy it through unparsed
+                g.writeFieldName(COLUMNS[last - 1]);
+                String answer = rs.getString(last);
+                if (answer == null) g.writeNull();
+                else g.writeRawValue(answer);
+                g.writeEndObject();
+                g.writeRaw('\n');
+            }
+            g.flush();
+        }
+    }
+
+    private static void writeJsonValue(JsonGenerator g, ResultSet rs, int column) throws SQLException, IOException {
+        Object v = rs.getObject(column);
+        if (v == null) g.writeNull();
+        else if (v instanceof Number n) g.writeNumber(n.longValue());
+        else if (v instanceof Timestamp t) g.writeString(t.toInstant().toString());
+        else g.writeString(v.toString());
+    }
+
+    private static String text(ResultSet rs, int column) throws SQLException {
+        Object v = rs.getObject(column);
+        if (v == null) return null;
+        if (v instanceof Timestamp t) return t.toInstant().toString();
+        return v.toString();
+    }
+}
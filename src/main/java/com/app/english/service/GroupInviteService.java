@@ -27,6 +27,7 @@ public class GroupInviteService {
 
     private final GroupRepository groupRepository;
     private final MembershipRepository membershipRepository;
+    private final GroupAuthorization groupAuthorization;
     private final UserRepository userRepository;
     private final GroupInviteRepository inviteRepository;
     private final GroupInviteUseRepository inviteUseRepository;
@@ -34,33 +35,27 @@ public class GroupInviteService {
     public GroupInviteService(
             GroupRepository groupRepository,
             MembershipRepository membershipRepository,
+            GroupAuthorization groupAuthorization,
             UserRepository userRepository,
             GroupInviteRepository inviteRepository,
             GroupInviteUseRepository inviteUseRepository
     ) {
         this.groupRepository = groupRepository;
         this.membershipRepository = membershipRepository;
+        this.groupAuthorization = groupAuthorization;
         this.userRepository = userRepository;
         this.inviteRepository = inviteRepository;
         this.inviteUseRepository = inviteUseRepository;
     }
 
     @Transactional
-    public InviteCreatedResponse createInvite(Long groupId, String creatorEmail, CreateInviteRequest req) {
-        Membership creatorMembership = membershipRepository.findByUserEmailAndGroupId(creatorEmail, groupId)
-                .orElseThrow(() -> {
-                    if (!groupRepository.existsById(groupId)) return new GroupNotFoundException("Group not found");
-                    return new ForbiddenException("Not a member of this group");
-                });
-
-        if (creatorMembership.getRole() != GroupRole.TEACHER) {
-            throw new ForbiddenException("Teacher role required");
-        }
+    public InviteCreatedResponse createInvite(Long groupId, Long actorId, CreateInviteRequest req) {
+        groupAuthorization.requireTeacher(actorId, groupId);
 
         enforceInviteLimitOrThrow(groupId, -1L);
 
-        User creator = creatorMembership.getUser();
-        Group group = creatorMembership.getGroup();
+        User creator = userRepository.getReferenceById(actorId);
+        Group group = groupRepository.getReferenceById(groupId);
 
         GroupRole roleGranted = (req.roleGranted() == null) ? GroupRole.STUDENT : req.roleGranted();
         Integer maxUses = req.maxUses();
@@ -113,7 +108,7 @@ public class GroupInviteService {
 
         Group group = invite.getGroup();
 
-        if (membershipRepository.existsByUserIdAndGroupId(user.getId(), group.getId())) {
+        if (groupAuthorization.isMember(user.getId(), group.getId())) {
             throw new AlreadyMemberException("User already belongs to this group");
         }
 
@@ -129,16 +124,8 @@ public class GroupInviteService {
     }
 
     @Transactional(readOnly = true)
-    public List<InviteSummaryResponse> listInvites(Long groupId, String teacherEmail) {
-        Membership m = membershipRepository.findByUserEmailAndGroupId(teacherEmail, groupId)
-                .orElseThrow(() -> {
-                    if (!groupRepository.existsById(groupId)) return new GroupNotFoundException("Group not found");
-                    return new ForbiddenException("Not a member of this group");
-                });
-
-        if (m.getRole() != GroupRole.TEACHER) {
-            throw new ForbiddenException("Teacher role required");
-        }
+    public List<InviteSummaryResponse> listInvites(Long groupId, Long actorId) {
+        groupAuthorization.requireTeacher(actorId, groupId);
 
         return inviteRepository.findByGroupIdOrderByCreatedAtDesc(groupId)
                 .stream()
@@ -155,16 +142,8 @@ public class GroupInviteService {
     }
 
     @Transactional
-    public void revokeInvite(Long groupId, Long inviteId, String teacherEmail) {
-        Membership m = membershipRepository.findByUserEmailAndGroupId(teacherEmail, groupId)
-                .orElseThrow(() -> {
-                    if (!groupRepository.existsById(groupId)) return new GroupNotFoundException("Group not found");
-                    return new ForbiddenException("Not a member of this group");
-                });
-
-        if (m.getRole() != GroupRole.TEACHER) {
-            throw new ForbiddenException("Teacher role required");
-        }
+    public void revokeInvite(Long groupId, Long inviteId, Long actorId) {
+        groupAuthorization.requireTeacher(actorId, groupId);
 
         GroupInvite invite = inviteRepository.findByIdAndGroupId(inviteId, groupId)
                 .orElseThrow(() -> new InviteInvalidException("Invite not found"));
@@ -173,16 +152,8 @@ public class GroupInviteService {
     }
 
     @Transactional
-    public InviteCreatedResponse recreateInvite(Long groupId, Long inviteId, String teacherEmail) {
-        Membership teacherMembership = membershipRepository.findByUserEmailAndGroupId(teacherEmail, groupId)
-                .orElseThrow(() -> {
-                    if (!groupRepository.existsById(groupId)) return new GroupNotFoundException("Group not found");
-                    return new ForbiddenException("Not a member of this group");
-                });
-
-        if (teacherMembership.getRole() != GroupRole.TEACHER) {
-            throw new ForbiddenException("Teacher role required");
-        }
+    public InviteCreatedResponse recreateInvite(Long groupId, Long inviteId, Long actorId) {
+        groupAuthorization.requireTeacher(actorId, groupId);
 
         GroupInvite oldInvite = inviteRepository.findByIdAndGroupId(inviteId, groupId)
                 .orElseThrow(() -> new InviteInvalidException("Invite not found"));
@@ -192,8 +163,8 @@ public class GroupInviteService {
 
         enforceInviteLimitOrThrow(groupId, inviteId);
 
-        Group group = teacherMembership.getGroup();
-        User creator = teacherMembership.getUser();
+        Group group = groupRepository.getReferenceById(groupId);
+        User creator = userRepository.getReferenceById(actorId);
 
         Instant now = Instant.now();
         Instant expiresAt = oldInvite.getExpiresAt().isAfter(now)
@@ -245,7 +216,7 @@ public class GroupInviteService {
     }
 
     @Transactional(readOnly = true)
-    public InvitePreviewResponse preview(String token, String userEmailOrNull) {
+    public InvitePreviewResponse preview(String token, Long actorIdOrNull) {
         if (token == null || token.isBlank()) {
             throw new InviteInvalidException("Invite token required");
         }
@@ -263,11 +234,8 @@ public class GroupInviteService {
         boolean valid = !(expired || exhausted || revoked);
 
         boolean alreadyMember = false;
-        if (userEmailOrNull != null) {
-            User user = userRepository.findByEmail(userEmailOrNull).orElse(null);
-            if (user != null) {
-                alreadyMember = membershipRepository.existsByUserIdAndGroupId(user.getId(), invite.getGroup().getId());
-            }
+        if (actorIdOrNull != null) {
+            alreadyMember = groupAuthorization.isMember(actorIdOrNull, invite.getGroup().getId());
         }
 
         return new InvitePreviewResponse(
@@ -25,17 +25,20 @@ public class GroupService {
     private final MembershipRepository membershipRepository;
     private final UserRepository userRepository;
     private final JoinCodeGenerator joinCodeGenerator;
+    private final GroupAuthorization groupAuthorization;
 
     public GroupService(
             GroupRepository groupRepository,
             MembershipRepository membershipRepository,
             UserRepository userRepository,
-            JoinCodeGenerator joinCodeGenerator
+            JoinCodeGenerator joinCodeGenerator,
+            GroupAuthorization groupAuthorization
     ) {
         this.groupRepository = groupRepository;
         this.membershipRepository = membershipRepository;
         this.userRepository = userRepository;
         this.joinCodeGenerator = joinCodeGenerator;
+        this.groupAuthorization = groupAuthorization;
     }
 
     @Transactional
@@ -64,7 +67,7 @@ public class GroupService {
         Group group = groupRepository.findByJoinCode(joinCode)
                 .orElseThrow(() -> new GroupJoinCodeNotFoundException("Group join code not found"));
 
-        if (membershipRepository.existsByUserIdAndGroupId(user.getId(), group.getId())) {
+        if (groupAuthorization.isMember(user.getId(), group.getId())) {
             throw new AlreadyMemberException("User already belongs to this group");
         }
 
@@ -87,35 +90,21 @@ public class GroupService {
     }
 
     @Transactional(readOnly = true)
-    public GroupDetailsResponse getGroupDetails(Long groupId, String userEmail) {
-        var membershipOpt = membershipRepository.findByUserEmailAndGroupId(userEmail, groupId);
-        if (membershipOpt.isEmpty()) {
-            if (!groupRepository.existsById(groupId)) {
-                throw new GroupNotFoundException("Group not found");
-            }
-            throw new ForbiddenException("Not a member of this group");
-        }
-
-        Membership m = membershipOpt.get();
-        Group g = m.getGroup();
+    public GroupDetailsResponse getGroupDetails(Long groupId, Long actorId) {
+        GroupRole role = groupAuthorization.requireMember(actorId, groupId);
+        Group g = groupRepository.findById(groupId)
+                .orElseThrow(() -> new GroupNotFoundException("Group not found"));
 
-        String joinCode = (m.getRole() == GroupRole.TEACHER) ? g.getJoinCode() : null;
-        return new GroupDetailsResponse(g.getId(), g.getName(), m.getRole(), joinCode, g.getCreatedAt());
+        String joinCode = (role == GroupRole.TEACHER) ? g.getJoinCode() : null;
+        return new GroupDetailsResponse(g.getId(), g.getName(), role, joinCode, g.getCreatedAt());
     }
 
     @Transactional
-    public JoinCodeResponse resetJoinCode(Long groupId, String userEmail) {
-        Membership m = membershipRepository.findByUserEmailAndGroupId(userEmail, groupId)
-                .orElseThrow(() -> {
-                    if (!groupRepository.existsById(groupId)) return new GroupNotFoundException("Group not found");
-                    return new ForbiddenException("Not a member of this group");
-                });
+    public JoinCodeResponse resetJoinCode(Long groupId, Long actorId) {
+        groupAuthorization.requireTeacher(actorId, groupId);
 
-        if (m.getRole() != GroupRole.TEACHER) {
-            throw new ForbiddenException("Teacher role required");
-        }
-
-        Group group = m.getGroup();
+        Group group = groupRepository.findById(groupId)
+                .orElseThrow(() -> new GroupNotFoundException("Group not found"));
 
         for (int attempt = 0; attempt < 5; attempt++) {
             String code = joinCodeGenerator.generate();
@@ -132,18 +121,12 @@ public class GroupService {
     }
 
     @Transactional(readOnly = true)
-    public List<MemberResponse> listMembers(Long groupId, String actorEmail) {
-        Membership actor = membershipRepository.findByUserEmailAndGroupId(actorEmail, groupId)
-                .orElseThrow(() -> {
-                    if (!groupRepository.existsById(groupId)) return new GroupNotFoundException("Group not found");
-                    return new ForbiddenException("Not a member of this group");
-                });
+    public List<MemberResponse> listMembers(Long groupId, Long actorId) {
+        groupAuthorization.requireTeacher(actorId, groupId);
 
-        if (actor.getRole() != GroupRole.TEACHER) {
-            throw new ForbiddenException("Teacher role required");
-        }
-
-        Long ownerId = actor.getGroup().getCreatedBy().getId();
+        Long ownerId = groupRepository.findById(groupId)
+                .orElseThrow(() -> new GroupNotFoundException("Group not found"))
+                .getCreatedBy().getId();
 
         return membershipRepository.findMembersByGroupId(groupId)
                 .stream()
@@ -158,12 +141,8 @@ public class GroupService {
     }
 
     @Transactional
-    public void removeMember(Long groupId, Long targetUserId, String actorEmail) {
-        Membership actor = membershipRepository.findByUserEmailAndGroupId(actorEmail, groupId)
-                .orElseThrow(() -> {
-                    if (!groupRepository.existsById(groupId)) return new GroupNotFoundException("Group not found");
-                    return new ForbiddenException("Not a member of this group");
-                });
+    public void removeMember(Long groupId, Long targetUserId, Long actorId) {
+        GroupRole actorRole = groupAuthorization.requireMember(actorId, groupId);
 
         Membership target = membershipRepository.findByGroupIdAndUserIdFetchAll(groupId, targetUserId)
                 .orElseThrow(() -> new MembershipNotFoundException("Target user is not a member of this group"));
@@ -175,16 +154,15 @@ public class GroupService {
             throw new CannotRemoveOwnerException("Cannot remove group owner");
         }
 
-        Long actorUserId = actor.getUser().getId();
-        boolean actorIsOwner = actorUserId.equals(ownerId);
+        boolean actorIsOwner = actorId.equals(ownerId);
 
         // self-leave is allowed (except owner)
-        if (actorUserId.equals(targetUserId)) {
+        if (actorId.equals(targetUserId)) {
             membershipRepository.delete(target);
             return;
         }
 
-        if (actor.getRole() != GroupRole.TEACHER) {
+        if (actorRole != GroupRole.TEACHER) {
             throw new ForbiddenException("Teacher role required");
         }
 
@@ -198,8 +176,8 @@ public class GroupService {
     }
 
     @Transactional
-    public void leaveGroup(Long groupId, String actorEmail) {
-        Membership actor = membershipRepository.findByUserEmailAndGroupId(actorEmail, groupId)
+    public void leaveGroup(Long groupId, Long actorId) {
+        Membership actor = membershipRepository.findByGroupIdAndUserIdFetchAll(groupId, actorId)
                 .orElseThrow(() -> {
                     if (!groupRepository.existsById(groupId)) return new GroupNotFoundException("Group not found");
                     return new ForbiddenException("Not a member of this group");
@@ -2,14 +2,25 @@ package com.app.english.service;
 
 import com.app.english.config.JwtProperties;
 import com.app.english.models.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
 
 @Service
 public class JwtService {
@@ -17,6 +28,12 @@ public class JwtService {
     private final JwtProperties props;
     private final Key key;
 
+    // Immutable and thread-safe: built once instead of per parse.
+    private final JwtParser parser;
+
+    // token digest -> claims that already passed signature/expiry checks
+    private final Cache<String, VerifiedClaims> verified;
+
     public JwtService(JwtProperties props) {
         this.props = props;
 
@@ -26,12 +43,41 @@ public class JwtService {
         }
 
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+
+        long maxTtlNanos = props.verifiedCacheTtlMs() * 1_000_000L;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(props.verifiedCacheMaxSize())
+                .expireAfter(new Expiry<String, VerifiedClaims>() {
+                    @Override
+                    public long expireAfterCreate(String k, VerifiedClaims v, long currentTime) {
+                        // why: never outlive the token itself.
+                        long untilExpiry = (v.expiresAt().toEpochMilli() - System.currentTimeMillis()) * 1_000_000L;
+                        return Math.max(0L, Math.min(maxTtlNanos, untilExpiry));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String k, VerifiedClaims v, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String k, VerifiedClaims v, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
-    public String generateAccessToken(String email, Role role) {
+    // Result of a single signature + expiry verification of an access token.
+    // userId is null for tokens issued before the "uid" claim existed.
+    public record VerifiedClaims(Long userId, String email, String role, Instant expiresAt) {}
+
+    public String generateAccessToken(Long userId, String email, Role role) {
         long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setSubject(email)
+                .claim("uid", userId)
                 .claim("role", role.name())
                 .setIssuedAt(new Date(now))
                 .setExpiration(new Date(now + props.accessExpirationMs()))
@@ -39,27 +85,38 @@ public class JwtService {
                 .compact();
     }
 
-    public String extractEmail(String token) {
-        return extractAllClaims(token).getSubject();
-    }
+    // Verifies the token once; empty when the signature, format or expiry is invalid.
+    public Optional<VerifiedClaims> verify(String token) {
+        String digest = digest(token);
 
-    public String extractRole(String token) {
-        return extractAllClaims(token).get("role", String.class);
-    }
+        VerifiedClaims cached = verified.getIfPresent(digest);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return Optional.of(cached);
+        }
 
-    public boolean isTokenValid(String token) {
+        VerifiedClaims claims;
         try {
-            extractAllClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            Claims body = parser.parseClaimsJws(token).getBody();
+            claims = new VerifiedClaims(
+                    body.get("uid", Long.class),
+                    body.getSubject(),
+                    body.get("role", String.class),
+                    body.getExpiration().toInstant()
+            );
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
         }
+
+        verified.put(digest, claims);
+        return Optional.of(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token)
-                .getBody();
+    private String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot hash token", e);
+        }
     }
 }
-
@@ -1,13 +1,12 @@
 package com.app.english.service;
 
-import com.app.english.dto.lessons.LessonTaskAnswerRequest;
 import com.app.english.dto.lessons.LessonTaskAnswerResponse;
+import com.app.english.dto.lessons.ProgressEvent;
 import com.app.english.exceptions.ForbiddenException;
-import com.app.english.exceptions.GroupNotFoundException;
 import com.app.english.models.*;
 import com.app.english.repository.*;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.app.english.service.LessonStructureCache.LessonStructure;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,131 +17,138 @@ import java.util.List;
 public class LessonAnswerService {
 
     private final LessonAssignmentRepository lessonAssignmentRepository;
-    private final LessonItemRepository lessonItemRepository;
+    private final LessonStructureCache lessonStructureCache;
     private final LessonProgressRepository lessonProgressRepository;
     private final LessonTaskAnswerRepository lessonTaskAnswerRepository;
-    private final MembershipRepository membershipRepository;
-    private final GroupRepository groupRepository;
+    private final GroupAuthorization groupAuthorization;
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
-    private final ObjectMapper objectMapper;
+    private final AnswerDraftBuffer answerDraftBuffer;
+    private final AnswerGrader answerGrader;
+    private final ApplicationEventPublisher eventPublisher;
 
     public LessonAnswerService(
             LessonAssignmentRepository lessonAssignmentRepository,
-            LessonItemRepository lessonItemRepository,
+            LessonStructureCache lessonStructureCache,
             LessonProgressRepository lessonProgressRepository,
             LessonTaskAnswerRepository lessonTaskAnswerRepository,
-            MembershipRepository membershipRepository,
-            GroupRepository groupRepository,
+            GroupAuthorization groupAuthorization,
             UserRepository userRepository,
             TaskRepository taskRepository,
-            ObjectMapper objectMapper
+            AnswerDraftBuffer answerDraftBuffer,
+            AnswerGrader answerGrader,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.lessonAssignmentRepository = lessonAssignmentRepository;
-        this.lessonItemRepository = lessonItemRepository;
+        this.lessonStructureCache = lessonStructureCache;
         this.lessonProgressRepository = lessonProgressRepository;
         this.lessonTaskAnswerRepository = lessonTaskAnswerRepository;
-        this.membershipRepository = membershipRepository;
-        this.groupRepository = groupRepository;
+        this.groupAuthorization = groupAuthorization;
         this.userRepository = userRepository;
         this.taskRepository = taskRepository;
-        this.objectMapper = objectMapper;
-    }
-
-    private JsonNode toJsonNode(Object value) {
-        return (value == null) ? null : objectMapper.valueToTree(value);
+        this.answerDraftBuffer = answerDraftBuffer;
+        this.answerGrader = answerGrader;
+        this.eventPublisher = eventPublisher;
     }
 
     // -------------------------
     // Student: my answer
     // -------------------------
 
-    @Transactional(readOnly = true)
-    public LessonTaskAnswerResponse getMyAnswer(String actorEmail, Long assignmentId, Long taskId) {
-        User actor = requireActor(actorEmail);
-
+    // why: read-write - a buffered draft is flushed into this transaction before the read.
+    @Transactional
+    public LessonTaskAnswerResponse getMyAnswer(Long actorId, Long assignmentId, Long taskId) {
         LessonAssignment a = lessonAssignmentRepository.findByIdWithLessonAndGroup(assignmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Assignment not found"));
 
-        enforceStudentCanAccessAssignment(actor, a);
-        enforceTaskBelongsToLesson(a.getLesson().getId(), taskId);
+        groupAuthorization.requireStudentAccess(actorId, a);
+        enforceTaskBelongsToLesson(a.getLesson(), taskId);
 
-        LessonProgress p = lessonProgressRepository.findByUserIdAndAssignmentId(actor.getId(), assignmentId)
+        LessonProgress p = lessonProgressRepository.findByUserIdAndAssignmentId(actorId, assignmentId)
                 .orElse(null);
 
         if (p == null) {
-            return new LessonTaskAnswerResponse(assignmentId, taskId, LessonAnswerStatus.DRAFT, null, null, null);
+            return new LessonTaskAnswerResponse(assignmentId, taskId, LessonAnswerStatus.DRAFT, null, null, null, null, null, null);
         }
 
+        answerDraftBuffer.flush(p.getId(), taskId);
         LessonTaskAnswer ans = lessonTaskAnswerRepository.findByProgressIdAndTaskId(p.getId(), taskId)
                 .orElse(null);
 
         if (ans == null) {
-            return new LessonTaskAnswerResponse(assignmentId, taskId, LessonAnswerStatus.DRAFT, null, null, null);
+            return new LessonTaskAnswerResponse(assignmentId, taskId, LessonAnswerStatus.DRAFT, null, null, null, null, null, null);
         }
 
         return toResponse(assignmentId, taskId, ans);
     }
 
+    // Autosave: the draft goes to the write-behind buffer; only a first save touches the
+    // database (to create or start the progress row). The ack does not echo submittedAt.
+    // answerJson was validated by AnswerJsonReader and is stored and echoed verbatim.
     @Transactional
-    public LessonTaskAnswerResponse saveDraft(String actorEmail, Long assignmentId, Long taskId, LessonTaskAnswerRequest req) {
-        User actor = requireActor(actorEmail);
-
+    public LessonTaskAnswerResponse saveDraft(Long actorId, Long assignmentId, Long taskId, String answerJson) {
         LessonAssignment a = lessonAssignmentRepository.findByIdWithLessonAndGroup(assignmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Assignment not found"));
 
-        enforceStudentCanAccessAssignment(actor, a);
-        enforceTaskBelongsToLesson(a.getLesson().getId(), taskId);
-
-        LessonProgress p = lessonProgressRepository.findByUserIdAndAssignmentId(actor.getId(), assignmentId)
-                .orElseGet(() -> lessonProgressRepository.saveAndFlush(new LessonProgress(actor, a)));
-
-        p.markInProgress();
-        lessonProgressRepository.save(p);
-
-        JsonNode payload = toJsonNode(req.answer());
+        groupAuthorization.requireStudentAccess(actorId, a);
+        LessonStructure structure = lessonStructureCache.get(a.getLesson());
+        if (!structure.contains(taskId)) {
+            throw new IllegalArgumentException("Task does not belong to this lesson");
+        }
 
-        LessonTaskAnswer ans = lessonTaskAnswerRepository.findByProgressIdAndTaskId(p.getId(), taskId)
-                .orElseGet(() -> {
-                    Task task = taskRepository.findById(taskId)
-                            .orElseThrow(() -> new IllegalArgumentException("Task not found"));
-                    return new LessonTaskAnswer(p, task, payload);
-                });
+        Instant now = Instant.now();
+        Long progressId = lessonProgressRepository.findByUserIdAndAssignmentId(actorId, assignmentId)
+                .filter(p -> p.getStatus() != LessonProgressStatus.NOT_STARTED)
+                .map(LessonProgress::getId)
+                .orElseGet(() -> lessonProgressRepository
+                        .upsertInProgress(actorId, assignmentId, now, structure.distinctCount()).getId());
 
-        ans.saveDraft(payload);
-        LessonTaskAnswer saved = lessonTaskAnswerRepository.saveAndFlush(ans);
+        answerDraftBuffer.put(progressId, taskId, answerJson, now);
 
-        return toResponse(assignmentId, taskId, saved);
+        return new LessonTaskAnswerResponse(assignmentId, taskId, LessonAnswerStatus.DRAFT, answerJson, now, null, null, null, null);
     }
 
     @Transactional
-    public LessonTaskAnswerResponse submit(String actorEmail, Long assignmentId, Long taskId, LessonTaskAnswerRequest req) {
-        User actor = requireActor(actorEmail);
-
+    public LessonTaskAnswerResponse submit(Long actorId, Long assignmentId, Long taskId, String answerJson) {
         LessonAssignment a = lessonAssignmentRepository.findByIdWithLessonAndGroup(assignmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Assignment not found"));
 
-        enforceStudentCanAccessAssignment(actor, a);
-        enforceTaskBelongsToLesson(a.getLesson().getId(), taskId);
+        groupAuthorization.requireStudentAccess(actorId, a);
+        enforceTaskBelongsToLesson(a.getLesson(), taskId);
+
+        LessonProgress p = lessonProgressRepository.findByUserIdAndAssignmentId(actorId, assignmentId)
+                .orElseGet(() -> lessonProgressRepository.saveAndFlush(new LessonProgress(userRepository.getReferenceById(actorId), a)));
 
-        LessonProgress p = lessonProgressRepository.findByUserIdAndAssignmentId(actor.getId(), assignmentId)
-                .orElseGet(() -> lessonProgressRepository.saveAndFlush(new LessonProgress(actor, a)));
+        // why: a buffered draft may be the only copy of this answer row; land it before updating.
+        answerDraftBuffer.flush(p.getId(), taskId);
 
         p.markInProgress();
         lessonProgressRepository.save(p);
 
-        JsonNode payload = toJsonNode(req.answer());
-
         LessonTaskAnswer ans = lessonTaskAnswerRepository.findByProgressIdAndTaskId(p.getId(), taskId)
                 .orElseGet(() -> {
                     Task task = taskRepository.findById(taskId)
                             .orElseThrow(() -> new IllegalArgumentException("Task not found"));
-                    return new LessonTaskAnswer(p, task, payload);
+                    return new LessonTaskAnswer(p, task, answerJson);
                 });
 
-        ans.submit(payload); // resubmit allowed
+        ans.submit(answerJson); // resubmit allowed
+        AnswerGrader.Grade grade = answerGrader.grade(taskId, answerJson);
+        if (grade != null) ans.applyGrade(grade.score(), grade.maxScore(), grade.nearMisses());
         LessonTaskAnswer saved = lessonTaskAnswerRepository.saveAndFlush(ans);
 
+        eventPublisher.publishEvent(new ProgressEvent(
+                ProgressEvent.Type.ANSWER_SUBMITTED,
+                a.getGroup().getId(),
+                assignmentId,
+                actorId,
+                List.of(taskId),
+                p.getStatus(),
+                p.getCompletedCount() == null ? 0 : p.getCompletedCount(),
+                p.getTotalCount() == null ? 0 : p.getTotalCount(),
+                saved.getSubmittedAt()
+        ));
+
         return toResponse(assignmentId, taskId, saved);
     }
 
@@ -150,23 +156,16 @@ public class LessonAnswerService {
     // Teacher: view student's answer (read-only)
     // -------------------------
 
-    @Transactional(readOnly = true)
+    // why: read-write - a buffered draft is flushed into this transaction before the read.
+    @Transactional
     public LessonTaskAnswerResponse getStudentAnswer(
-            String teacherEmail,
+            Long teacherId,
             Long groupId,
             Long assignmentId,
             Long taskId,
             Long studentUserId
     ) {
-        Membership teacherMembership = membershipRepository.findByUserEmailAndGroupId(teacherEmail, groupId)
-                .orElseThrow(() -> {
-                    if (!groupRepository.existsById(groupId)) return new GroupNotFoundException("Group not found");
-                    return new ForbiddenException("Not a member of this group");
-                });
-
-        if (teacherMembership.getRole() != GroupRole.TEACHER) {
-            throw new ForbiddenException("Teacher role required");
-        }
+        groupAuthorization.requireTeacher(teacherId, groupId);
 
         LessonAssignment a = lessonAssignmentRepository.findByIdWithLessonAndGroup(assignmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Assignment not found"));
@@ -175,7 +174,7 @@ public class LessonAnswerService {
             throw new ForbiddenException("Assignment does not belong to this group");
         }
 
-        if (!membershipRepository.existsByUserIdAndGroupId(studentUserId, groupId)) {
+        if (!groupAuthorization.isMember(studentUserId, groupId)) {
             throw new IllegalArgumentException("User is not a member of this group");
         }
 
@@ -183,20 +182,21 @@ public class LessonAnswerService {
             throw new ForbiddenException("This assignment is for another user");
         }
 
-        enforceTaskBelongsToLesson(a.getLesson().getId(), taskId);
+        enforceTaskBelongsToLesson(a.getLesson(), taskId);
 
         LessonProgress p = lessonProgressRepository.findByUserIdAndAssignmentId(studentUserId, assignmentId)
                 .orElse(null);
 
         if (p == null) {
-            return new LessonTaskAnswerResponse(assignmentId, taskId, LessonAnswerStatus.DRAFT, null, null, null);
+            return new LessonTaskAnswerResponse(assignmentId, taskId, LessonAnswerStatus.DRAFT, null, null, null, null, null, null);
         }
 
+        answerDraftBuffer.flush(p.getId(), taskId);
         LessonTaskAnswer ans = lessonTaskAnswerRepository.findByProgressIdAndTaskId(p.getId(), taskId)
                 .orElse(null);
 
         if (ans == null) {
-            return new LessonTaskAnswerResponse(assignmentId, taskId, LessonAnswerStatus.DRAFT, null, null, null);
+            return new LessonTaskAnswerResponse(assignmentId, taskId, LessonAnswerStatus.DRAFT, null, null, null, null, null, null);
         }
 
         return toResponse(assignmentId, taskId, ans);
@@ -207,53 +207,22 @@ public class LessonAnswerService {
     // -------------------------
 
     private LessonTaskAnswerResponse toResponse(Long assignmentId, Long taskId, LessonTaskAnswer ans) {
-        Object plain = (ans.getAnswerJson() == null)
-                ? null
-                : objectMapper.convertValue(ans.getAnswerJson(), Object.class);
-
         return new LessonTaskAnswerResponse(
                 assignmentId,
                 taskId,
                 ans.getStatus(),
-                plain,
+                ans.getAnswerJson(),
                 ans.getUpdatedAt(),
-                ans.getSubmittedAt()
+                ans.getSubmittedAt(),
+                ans.getScore(),
+                ans.getMaxScore(),
+                ans.getNearMisses()
         );
     }
 
-    private User requireActor(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
-    }
-
-    private void enforceTaskBelongsToLesson(Long lessonId, Long taskId) {
-        List<Long> ids = lessonItemRepository.findTaskIdsForLesson(lessonId);
-        if (!ids.contains(taskId)) {
+    private void enforceTaskBelongsToLesson(Lesson lesson, Long taskId) {
+        if (!lessonStructureCache.get(lesson).contains(taskId)) {
             throw new IllegalArgumentException("Task does not belong to this lesson");
         }
     }
-
-    private void enforceStudentCanAccessAssignment(User actor, LessonAssignment a) {
-        boolean isMember = membershipRepository.existsByUserIdAndGroupId(actor.getId(), a.getGroup().getId());
-        if (!isMember) {
-            if (!groupRepository.existsById(a.getGroup().getId())) throw new GroupNotFoundException("Group not found");
-            throw new ForbiddenException("Not a member of this group");
-        }
-
-        if (a.getAssignedToUser() != null && !a.getAssignedToUser().getId().equals(actor.getId())) {
-            throw new ForbiddenException("This lesson is assigned to another user");
-        }
-
-        Instant now = Instant.now();
-        if (a.getVisibleFrom() != null && a.getVisibleFrom().isAfter(now)) {
-            throw new ForbiddenException("Lesson not visible yet");
-        }
-        if (a.getVisibleTo() != null && a.getVisibleTo().isBefore(now)) {
-            throw new ForbiddenException("Lesson is no longer visible");
-        }
-
-        if (a.getLesson().getStatus() == LessonStatus.ARCHIVED) {
-            throw new ForbiddenException("Lesson is archived");
-        }
-    }
-}
\ No newline at end of file
+}
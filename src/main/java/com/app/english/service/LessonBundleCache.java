@@ -0,0 +1,72 @@
+package com.app.english.service;
+
+import com.app.english.config.LessonCacheProperties;
+import com.app.english.repository.LessonItemRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+// lessonId -> pre-serialized lesson bundle (plain + gzip) with its strong ETag.
+// Anything that changes what a bundle contains invalidates the affected lessons after commit.
+@Component
+public class LessonBundleCache {
+
+    public record CachedBundle(byte[] json, byte[] gzip, String etag, String gzipEtag) {}
+
+    private final LessonItemRepository lessonItemRepository;
+    private final Cache<Long, CachedBundle> cache;
+
+    public LessonBundleCache(
+            LessonItemRepository lessonItemRepository,
+            LessonCacheProperties props,
+            MeterRegistry meterRegistry
+    ) {
+        this.lessonItemRepository = lessonItemRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(props.bundleMaxBytes())
+                .weigher((Long id, CachedBundle b) -> b.json().length + b.gzip().length)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "lessons.bundle");
+    }
+
+    public CachedBundle get(Long lessonId, Function<Long, CachedBundle> builder) {
+        return cache.get(lessonId, builder);
+    }
+
+    public void invalidateLesson(Long lessonId) {
+        invalidate(List.of(lessonId));
+    }
+
+    public void invalidateForTask(Long taskId) {
+        invalidate(lessonItemRepository.findLessonIdsByTaskId(taskId));
+    }
+
+    public void invalidateForVocabulary(Long vocabularyId) {
+        invalidate(lessonItemRepository.findLessonIdsByVocabularyId(vocabularyId));
+    }
+
+    private void invalidate(Collection<Long> lessonIds) {
+        if (lessonIds.isEmpty()) return;
+        cache.invalidateAll(lessonIds);
+
+        // why: a concurrent request could rebuild from the old rows before our transaction commits.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll(lessonIds);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.app.english.service;
+
+import com.app.english.dto.lessons.LessonBundleResponse;
+import com.app.english.models.*;
+import com.app.english.repository.*;
+import com.app.english.service.LessonBundleCache.CachedBundle;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class LessonBundleService {
+
+    private final LessonAssignmentRepository lessonAssignmentRepository;
+    private final LessonItemRepository lessonItemRepository;
+    private final TaskVocabularyRepository taskVocabularyRepository;
+    private final MediaFileRepository mediaFileRepository;
+    private final GroupAuthorization groupAuthorization;
+    private final LessonBundleCache lessonBundleCache;
+    private final ObjectMapper objectMapper;
+
+    public LessonBundleService(
+            LessonAssignmentRepository lessonAssignmentRepository,
+            LessonItemRepository lessonItemRepository,
+            TaskVocabularyRepository taskVocabularyRepository,
+            MediaFileRepository mediaFileRepository,
+            GroupAuthorization groupAuthorization,
+            LessonBundleCache lessonBundleCache,
+            ObjectMapper objectMapper
+    ) {
+        this.lessonAssignmentRepository = lessonAssignmentRepository;
+        this.lessonItemRepository = lessonItemRepository;
+        this.taskVocabularyRepository = taskVocabularyRepository;
+        this.mediaFileRepository = mediaFileRepository;
+        this.groupAuthorization = groupAuthorization;
+        this.lessonBundleCache = lessonBundleCache;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public CachedBundle getBundle(Long actorId, Long assignmentId) {
+        LessonAssignment a = lessonAssignmentRepository.findByIdWithLessonAndGroup(assignmentId)
+                .orElseThrow(() -> new IllegalArgumentException("Assignment not found"));
+
+        groupAuthorization.requireStudentAccess(actorId, a);
+
+        Lesson lesson = a.getLesson();
+        return lessonBundleCache.get(lesson.getId(), id -> serialize(build(lesson)));
+    }
+
+    // -------------------------
+    // helpers
+    // -------------------------
+
+    // Three statements regardless of lesson size: items+tasks, task vocabulary+entries, media.
+    private LessonBundleResponse build(Lesson lesson) {
+        List<LessonItem> items = lessonItemRepository.findWithTasksByLessonId(lesson.getId());
+
+        Map<Long, Task> tasksById = new LinkedHashMap<>();
+        for (LessonItem li : items) {
+            if (li.getTask() != null) tasksById.putIfAbsent(li.getTask().getId(), li.getTask());
+        }
+        Set<Long> taskIds = tasksById.keySet();
+
+        Map<Long, List<Long>> vocabIdsByTask = new HashMap<>();
+        Map<Long, Vocabulary> vocabById = new LinkedHashMap<>();
+        // why: typed answers are graded server-side; the bundle must not carry their answer side.
+        Set<Long> hideEn = new HashSet<>();
+        Set<Long> hidePl = new HashSet<>();
+        if (!taskIds.isEmpty()) {
+            for (TaskVocabulary tv : taskVocabularyRepository.findWithVocabularyByTaskIds(taskIds)) {
+                Vocabulary v = tv.getVocabulary();
+                Task t = tasksById.get(tv.getTask().getId());
+                vocabIdsByTask.computeIfAbsent(t.getId(), k -> new ArrayList<>()).add(v.getId());
+                vocabById.putIfAbsent(v.getId(), v);
+                if (t.getType() == TaskType.VOCAB_TYPING) {
+                    (AnswerKeyCache.AnswerKey.answersInEnglish(t) ? hideEn : hidePl).add(v.getId());
+                }
+            }
+        }
+
+        Set<Long> mediaIds = new LinkedHashSet<>();
+        List<LessonBundleResponse.VocabularyEntry> vocabulary = new ArrayList<>(vocabById.size());
+        for (Vocabulary v : vocabById.values()) {
+            if (v.getImageMediaId() != null) mediaIds.add(v.getImageMediaId());
+            if (v.getAudioMediaId() != null) mediaIds.add(v.getAudioMediaId());
+            boolean en = !hideEn.contains(v.getId());
+            boolean pl = !hidePl.contains(v.getId());
+            vocabulary.add(new LessonBundleResponse.VocabularyEntry(
+                    v.getId(),
+                    en ? v.getTermEn() : null,
+                    pl ? v.getTermPl() : null,
+                    en ? v.getExampleEn() : null,
+                    pl ? v.getExamplePl() : null,
+                    v.getImageMediaId(),
+                    v.getAudioMediaId()
+            ));
+        }
+
+        List<LessonBundleResponse.MediaRef> media = new ArrayList<>(mediaIds.size());
+        if (!mediaIds.isEmpty()) {
+            for (MediaFile mf : mediaFileRepository.findAllById(mediaIds)) {
+                media.add(new LessonBundleResponse.MediaRef(
+                        mf.getId(), mf.getType(), mf.getContentType(), "/api/media/" + mf.getId()));
+            }
+            media.sort(Comparator.comparing(LessonBundleResponse.MediaRef::id));
+        }
+
+        List<LessonBundleResponse.Item> bundleItems = new ArrayList<>(items.size());
+        for (LessonItem li : items) {
+            Task t = li.getTask();
+            LessonBundleResponse.BundleTask task = (t == null) ? null : new LessonBundleResponse.BundleTask(
+                    t.getId(),
+                    t.getTitle(),
+                    t.getType(),
+                    t.getPayload(),
+                    vocabIdsByTask.getOrDefault(t.getId(), List.of())
+            );
+            bundleItems.add(new LessonBundleResponse.Item(li.getPosition(), li.getItemType(), task));
+        }
+
+        return new LessonBundleResponse(
+                lesson.getId(),
+                lesson.getTitle(),
+                lesson.getDescription(),
+                bundleItems,
+                vocabulary,
+                media
+        );
+    }
+
+    private CachedBundle serialize(LessonBundleResponse bundle) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(bundle);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+            try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+                gz.write(json);
+            }
+
+            // why: strong ETags must differ per content-coding, so the gzip variant gets a suffix.
+            String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json), 0, 16);
+            return new CachedBundle(json, out.toByteArray(), "\"" + hash + "\"", "\"" + hash + "-gz\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize lesson bundle", e);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot encode lesson bundle", e);
+        }
+    }
+}
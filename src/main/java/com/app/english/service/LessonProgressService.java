@@ -1,15 +1,19 @@
 package com.app.english.service;
 
 import com.app.english.dto.lessons.LessonProgressResponse;
+import com.app.english.dto.lessons.ProgressEvent;
 import com.app.english.exceptions.ForbiddenException;
-import com.app.english.exceptions.GroupNotFoundException;
 import com.app.english.models.*;
 import com.app.english.repository.*;
+import com.app.english.repository.LessonProgressRepository.ProgressState;
+import com.app.english.service.LessonStructureCache.LessonStructure;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Instant;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -17,32 +21,32 @@ import java.util.Set;
 public class LessonProgressService {
 
     private final LessonAssignmentRepository lessonAssignmentRepository;
-    private final LessonItemRepository lessonItemRepository;
+    private final LessonRepository lessonRepository;
+    private final LessonStructureCache lessonStructureCache;
     private final LessonProgressRepository lessonProgressRepository;
-    private final LessonTaskProgressRepository lessonTaskProgressRepository;
-    private final MembershipRepository membershipRepository;
-    private final GroupRepository groupRepository;
+    private final GroupAuthorization groupAuthorization;
     private final UserRepository userRepository;
-    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProgressEventBus progressEventBus;
 
     public LessonProgressService(
             LessonAssignmentRepository lessonAssignmentRepository,
-            LessonItemRepository lessonItemRepository,
+            LessonRepository lessonRepository,
+            LessonStructureCache lessonStructureCache,
             LessonProgressRepository lessonProgressRepository,
-            LessonTaskProgressRepository lessonTaskProgressRepository,
-            MembershipRepository membershipRepository,
-            GroupRepository groupRepository,
+            GroupAuthorization groupAuthorization,
             UserRepository userRepository,
-            TaskRepository taskRepository
+            ApplicationEventPublisher eventPublisher,
+            ProgressEventBus progressEventBus
     ) {
         this.lessonAssignmentRepository = lessonAssignmentRepository;
-        this.lessonItemRepository = lessonItemRepository;
+        this.lessonRepository = lessonRepository;
+        this.lessonStructureCache = lessonStructureCache;
         this.lessonProgressRepository = lessonProgressRepository;
-        this.lessonTaskProgressRepository = lessonTaskProgressRepository;
-        this.membershipRepository = membershipRepository;
-        this.groupRepository = groupRepository;
+        this.groupAuthorization = groupAuthorization;
         this.userRepository = userRepository;
-        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.progressEventBus = progressEventBus;
     }
 
     // -------------------------
@@ -50,18 +54,16 @@ public class LessonProgressService {
     // -------------------------
 
     @Transactional(readOnly = true)
-    public LessonProgressResponse getProgress(String actorEmail, Long assignmentId) {
-        User actor = requireActor(actorEmail);
-
+    public LessonProgressResponse getProgress(Long actorId, Long assignmentId) {
         LessonAssignment a = lessonAssignmentRepository.findByIdWithLessonAndGroup(assignmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Assignment not found"));
 
-        enforceStudentCanAccessAssignment(actor, a);
+        groupAuthorization.requireStudentAccess(actorId, a);
 
-        List<Long> lessonTaskIds = lessonItemRepository.findTaskIdsForLesson(a.getLesson().getId());
-        int total = new HashSet<>(lessonTaskIds).size();
+        LessonStructure structure = lessonStructureCache.get(a.getLesson());
+        int total = structure.distinctCount();
 
-        LessonProgress p = lessonProgressRepository.findByUserIdAndAssignmentId(actor.getId(), assignmentId)
+        LessonProgress p = lessonProgressRepository.findByUserIdAndAssignmentId(actorId, assignmentId)
                 .orElse(null);
 
         if (p == null) {
@@ -77,8 +79,8 @@ public class LessonProgressService {
             );
         }
 
-        Set<Long> completed = lessonTaskProgressRepository.findCompletedTaskIds(p.getId());
-        int done = countDone(lessonTaskIds, completed);
+        Set<Long> completed = structure.tasksAt(p.getCompletedBits());
+        int done = structure.countContained(completed);
 
         return new LessonProgressResponse(
                 assignmentId,
@@ -93,47 +95,53 @@ public class LessonProgressService {
     }
 
     @Transactional
-    public LessonProgressResponse markTaskCompleted(String actorEmail, Long assignmentId, Long taskId) {
-        User actor = requireActor(actorEmail);
+    public LessonProgressResponse markTaskCompleted(Long actorId, Long assignmentId, Long taskId) {
+        return markTasksCompleted(actorId, assignmentId, List.of(taskId));
+    }
 
+    // Applies any number of completions with an upsert, one bit OR and one counter update. Safe against
+    // concurrent calls for the same progress: the first upsert holds its row lock until commit, and
+    // the lesson row is share-locked first, so the item layout the mask is built from stays current.
+    @Transactional
+    public LessonProgressResponse markTasksCompleted(Long actorId, Long assignmentId, List<Long> taskIds) {
         LessonAssignment a = lessonAssignmentRepository.findByIdWithLessonAndGroup(assignmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Assignment not found"));
 
-        enforceStudentCanAccessAssignment(actor, a);
+        groupAuthorization.requireStudentAccess(actorId, a);
 
-        List<Long> lessonTaskIds = lessonItemRepository.findTaskIdsForLesson(a.getLesson().getId());
-        if (!lessonTaskIds.contains(taskId)) {
-            throw new IllegalArgumentException("Task does not belong to this lesson");
+        LessonStructure structure = lockedStructure(a.getLesson().getId());
+        LinkedHashSet<Long> unique = new LinkedHashSet<>(taskIds);
+        if (unique.isEmpty()) {
+            throw new IllegalArgumentException("taskIds must not be empty");
+        }
+        for (Long taskId : unique) {
+            if (taskId == null || !structure.contains(taskId)) {
+                throw new IllegalArgumentException("Task does not belong to this lesson: " + taskId);
+            }
         }
 
-        LessonProgress p = lessonProgressRepository.findByUserIdAndAssignmentId(actor.getId(), assignmentId)
-                .orElseGet(() -> lessonProgressRepository.save(new LessonProgress(actor, a)));
-
-        p.markInProgress();
-
-        LessonTaskProgress tp = lessonTaskProgressRepository.findByProgressIdAndTaskId(p.getId(), taskId)
-                .orElseGet(() -> {
-                    Task task = taskRepository.findById(taskId)
-                            .orElseThrow(() -> new IllegalArgumentException("Task not found"));
-                    return lessonTaskProgressRepository.save(new LessonTaskProgress(p, task));
-                });
+        Instant now = Instant.now();
+        int total = structure.distinctCount();
+        ProgressState p = lessonProgressRepository.upsertInProgress(actorId, assignmentId, now, total);
 
-        tp.markCompleted();
-        lessonTaskProgressRepository.save(tp);
+        Set<Long> completed = structure.tasksAt(
+                lessonProgressRepository.orCompletedBits(p.getId(), structure.positionMask(unique)));
+        int done = structure.countContained(completed);
 
-        Set<Long> completed = new HashSet<>(lessonTaskProgressRepository.findCompletedTaskIds(p.getId()));
-        int total = new HashSet<>(lessonTaskIds).size();
-        int done = countDone(lessonTaskIds, completed);
+        boolean wasCompleted = LessonProgressStatus.COMPLETED.name().equals(p.getStatus());
+        p = lessonProgressRepository.updateCounts(p.getId(), done, total, total > 0 && done == total, now);
+        LessonProgressStatus status = LessonProgressStatus.valueOf(p.getStatus());
 
-        if (total > 0 && done == total) {
-            p.markCompleted();
+        List<Long> applied = List.copyOf(unique);
+        publish(ProgressEvent.Type.TASK_COMPLETED, a, actorId, applied, status, done, total, now);
+        if (!wasCompleted && status == LessonProgressStatus.COMPLETED) {
+            publish(ProgressEvent.Type.LESSON_COMPLETED, a, actorId, applied, status, done, total, now);
         }
-        lessonProgressRepository.save(p);
 
         return new LessonProgressResponse(
                 assignmentId,
                 a.getLesson().getId(),
-                p.getStatus(),
+                status,
                 p.getStartedAt(),
                 p.getCompletedAt(),
                 completed,
@@ -143,25 +151,29 @@ public class LessonProgressService {
     }
 
     @Transactional
-    public LessonProgressResponse markLessonCompleted(String actorEmail, Long assignmentId) {
-        User actor = requireActor(actorEmail);
-
+    public LessonProgressResponse markLessonCompleted(Long actorId, Long assignmentId) {
         LessonAssignment a = lessonAssignmentRepository.findByIdWithLessonAndGroup(assignmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Assignment not found"));
 
-        enforceStudentCanAccessAssignment(actor, a);
+        groupAuthorization.requireStudentAccess(actorId, a);
+
+        LessonStructure structure = lockedStructure(a.getLesson().getId());
+        int total = structure.distinctCount();
 
-        List<Long> lessonTaskIds = lessonItemRepository.findTaskIdsForLesson(a.getLesson().getId());
-        int total = new HashSet<>(lessonTaskIds).size();
+        LessonProgress p = lessonProgressRepository.findByUserIdAndAssignmentId(actorId, assignmentId)
+                .orElseGet(() -> lessonProgressRepository.save(new LessonProgress(userRepository.getReferenceById(actorId), a)));
 
-        LessonProgress p = lessonProgressRepository.findByUserIdAndAssignmentId(actor.getId(), assignmentId)
-                .orElseGet(() -> lessonProgressRepository.save(new LessonProgress(actor, a)));
+        Set<Long> completed = structure.tasksAt(p.getCompletedBits());
+        int done = structure.countContained(completed);
 
+        boolean wasCompleted = p.getStatus() == LessonProgressStatus.COMPLETED;
         p.markCompleted();
+        p.updateCounts(done, total);
         lessonProgressRepository.save(p);
 
-        Set<Long> completed = new HashSet<>(lessonTaskProgressRepository.findCompletedTaskIds(p.getId()));
-        int done = countDone(lessonTaskIds, completed);
+        if (!wasCompleted) {
+            publish(ProgressEvent.Type.LESSON_COMPLETED, a, actorId, List.of(), p.getStatus(), done, total, Instant.now());
+        }
 
         return new LessonProgressResponse(
                 assignmentId,
@@ -181,20 +193,12 @@ public class LessonProgressService {
 
     @Transactional(readOnly = true)
     public LessonProgressResponse getProgressForStudent(
-            String teacherEmail,
+            Long teacherId,
             Long groupId,
             Long assignmentId,
             Long studentUserId
     ) {
-        Membership teacherMembership = membershipRepository.findByUserEmailAndGroupId(teacherEmail, groupId)
-                .orElseThrow(() -> {
-                    if (!groupRepository.existsById(groupId)) return new GroupNotFoundException("Group not found");
-                    return new ForbiddenException("Not a member of this group");
-                });
-
-        if (teacherMembership.getRole() != GroupRole.TEACHER) {
-            throw new ForbiddenException("Teacher role required");
-        }
+        groupAuthorization.requireTeacher(teacherId, groupId);
 
         LessonAssignment a = lessonAssignmentRepository.findByIdWithLessonAndGroup(assignmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Assignment not found"));
@@ -203,7 +207,7 @@ public class LessonProgressService {
             throw new ForbiddenException("Assignment does not belong to this group");
         }
 
-        if (!membershipRepository.existsByUserIdAndGroupId(studentUserId, groupId)) {
+        if (!groupAuthorization.isMember(studentUserId, groupId)) {
             throw new IllegalArgumentException("User is not a member of this group");
         }
 
@@ -212,8 +216,8 @@ public class LessonProgressService {
             throw new ForbiddenException("This assignment is for another user");
         }
 
-        List<Long> lessonTaskIds = lessonItemRepository.findTaskIdsForLesson(a.getLesson().getId());
-        int total = new HashSet<>(lessonTaskIds).size();
+        LessonStructure structure = lessonStructureCache.get(a.getLesson());
+        int total = structure.distinctCount();
 
         LessonProgress p = lessonProgressRepository.findByUserIdAndAssignmentId(studentUserId, assignmentId)
                 .orElse(null);
@@ -231,8 +235,8 @@ public class LessonProgressService {
             );
         }
 
-        Set<Long> completed = lessonTaskProgressRepository.findCompletedTaskIds(p.getId());
-        int done = countDone(lessonTaskIds, completed);
+        Set<Long> completed = structure.tasksAt(p.getCompletedBits());
+        int done = structure.countContained(completed);
 
         return new LessonProgressResponse(
                 assignmentId,
@@ -246,46 +250,38 @@ public class LessonProgressService {
         );
     }
 
+    // Teacher: live deltas for the whole group instead of polling getProgressForStudent.
+    public SseEmitter subscribeToGroup(Long teacherId, Long groupId) {
+        groupAuthorization.requireTeacher(teacherId, groupId);
+        return progressEventBus.subscribe(teacherId, groupId);
+    }
+
     // -------------------------
     // helpers
     // -------------------------
 
-    private int countDone(List<Long> lessonTaskIds, Set<Long> completedTaskIds) {
-        // count unique tasks
-        Set<Long> unique = new HashSet<>(lessonTaskIds);
-        int done = 0;
-        for (Long id : unique) {
-            if (completedTaskIds.contains(id)) done++;
-        }
-        return done;
-    }
-
-    private User requireActor(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
+    private void publish(
+            ProgressEvent.Type type,
+            LessonAssignment a,
+            Long userId,
+            List<Long> taskIds,
+            LessonProgressStatus status,
+            int done,
+            int total,
+            Instant at
+    ) {
+        eventPublisher.publishEvent(new ProgressEvent(
+                type, a.getGroup().getId(), a.getId(), userId, taskIds, status, done, total, at));
     }
 
-    private void enforceStudentCanAccessAssignment(User actor, LessonAssignment a) {
-        boolean isMember = membershipRepository.existsByUserIdAndGroupId(actor.getId(), a.getGroup().getId());
-        if (!isMember) {
-            if (!groupRepository.existsById(a.getGroup().getId())) throw new GroupNotFoundException("Group not found");
-            throw new ForbiddenException("Not a member of this group");
-        }
-
-        if (a.getAssignedToUser() != null && !a.getAssignedToUser().getId().equals(actor.getId())) {
-            throw new ForbiddenException("This lesson is assigned to another user");
-        }
-
-        Instant now = Instant.now();
-        if (a.getVisibleFrom() != null && a.getVisibleFrom().isAfter(now)) {
-            throw new ForbiddenException("Lesson not visible yet");
-        }
-        if (a.getVisibleTo() != null && a.getVisibleTo().isBefore(now)) {
-            throw new ForbiddenException("Lesson is no longer visible");
-        }
-
-        if (a.getLesson().getStatus() == LessonStatus.ARCHIVED) {
-            throw new ForbiddenException("Lesson is archived");
+    // Item layout for a write that reads or sets completed_bits positions. The share lock on the
+    // lesson row is held until commit, so replaceItems (which bumps items_version first) can't
+    // remap the bits in between; the version read under it also catches a stale cache entry.
+    private LessonStructure lockedStructure(Long lessonId) {
+        Long itemsVersion = lessonRepository.lockItemsVersion(lessonId);
+        if (itemsVersion == null) {
+            throw new IllegalArgumentException("Lesson not found");
         }
+        return lessonStructureCache.get(lessonId, itemsVersion);
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,13 @@
 package com.app.english.service;
 
+import com.app.english.dto.CursorSlice;
 import com.app.english.dto.lessons.*;
 import com.app.english.exceptions.ForbiddenException;
-import com.app.english.exceptions.GroupNotFoundException;
 import com.app.english.exceptions.LessonAlreadyAssignedException;
 import com.app.english.exceptions.LessonNotFoundException;
 import com.app.english.models.*;
 import com.app.english.repository.*;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -20,6 +21,8 @@ import java.util.stream.Stream;
 @Service
 public class LessonService {
 
+    private static final int MAX_FEED_SIZE = 100;
+
     private final LessonRepository lessonRepository;
     private final LessonItemRepository lessonItemRepository;
     private final LessonAssignmentRepository lessonAssignmentRepository;
@@ -28,6 +31,10 @@ public class LessonService {
     private final TaskRepository taskRepository;
     private final GroupRepository groupRepository;
     private final MembershipRepository membershipRepository;
+    private final GroupAuthorization groupAuthorization;
+    private final LessonProgressRepository lessonProgressRepository;
+    private final LessonStructureCache lessonStructureCache;
+    private final LessonBundleCache lessonBundleCache;
 
     public LessonService(
             LessonRepository lessonRepository,
@@ -36,7 +43,11 @@ public class LessonService {
             UserRepository userRepository,
             TaskRepository taskRepository,
             GroupRepository groupRepository,
-            MembershipRepository membershipRepository
+            MembershipRepository membershipRepository,
+            GroupAuthorization groupAuthorization,
+            LessonProgressRepository lessonProgressRepository,
+            LessonStructureCache lessonStructureCache,
+            LessonBundleCache lessonBundleCache
     ) {
         this.lessonRepository = lessonRepository;
         this.lessonItemRepository = lessonItemRepository;
@@ -45,11 +56,15 @@ public class LessonService {
         this.taskRepository = taskRepository;
         this.groupRepository = groupRepository;
         this.membershipRepository = membershipRepository;
+        this.groupAuthorization = groupAuthorization;
+        this.lessonProgressRepository = lessonProgressRepository;
+        this.lessonStructureCache = lessonStructureCache;
+        this.lessonBundleCache = lessonBundleCache;
     }
 
     @Transactional
-    public LessonResponse create(String actorEmail, CreateLessonRequest req) {
-        User actor = requireActor(actorEmail);
+    public LessonResponse create(Long actorId, CreateLessonRequest req) {
+        User actor = userRepository.getReferenceById(actorId);
 
         LessonStatus status = (req.status() == null) ? LessonStatus.DRAFT : req.status();
         Lesson saved = lessonRepository.save(new Lesson(
@@ -63,9 +78,7 @@ public class LessonService {
     }
 
     @Transactional(readOnly = true)
-    public Page<LessonResponse> listMine(String actorEmail, Pageable pageable, boolean includeArchived, String q) {
-        User actor = requireActor(actorEmail);
-
+    public Page<LessonResponse> listMine(Long actorId, Pageable pageable, boolean includeArchived, String q) {
         List<LessonStatus> statuses = includeArchived
                 ? List.of(LessonStatus.DRAFT, LessonStatus.PUBLISHED, LessonStatus.ARCHIVED)
                 : List.of(LessonStatus.DRAFT, LessonStatus.PUBLISHED);
@@ -73,19 +86,19 @@ public class LessonService {
         String query = (q == null || q.trim().isEmpty()) ? null : q.trim();
 
         var page = (query == null)
-                ? lessonRepository.findByCreatedByIdAndStatusInOrderByUpdatedAtDesc(actor.getId(), statuses, pageable)
-                : lessonRepository.findByCreatedByIdAndStatusInAndTitleContainingIgnoreCaseOrderByUpdatedAtDesc(actor.getId(), statuses, query, pageable);
+                ? lessonRepository.findByCreatedByIdAndStatusInOrderByUpdatedAtDesc(actorId, statuses, pageable)
+                : lessonRepository.findByCreatedByIdAndStatusInAndTitleContainingIgnoreCaseOrderByUpdatedAtDesc(actorId, statuses, query, pageable);
 
-        return page.map(l -> toLessonResponse(l, loadItems(l.getId())));
+        Map<Long, List<LessonItemResponse>> itemsByLesson = loadItems(page.getContent());
+        return page.map(l -> toLessonResponse(l, itemsByLesson.getOrDefault(l.getId(), List.of())));
     }
 
     @Transactional(readOnly = true)
-    public LessonResponse get(String actorEmail, Long lessonId) {
-        User actor = requireActor(actorEmail);
+    public LessonResponse get(Long actorId, Long lessonId) {
         Lesson lesson = lessonRepository.findById(lessonId)
                 .orElseThrow(() -> new LessonNotFoundException("Lesson not found"));
 
-        if (!lesson.getCreatedBy().getId().equals(actor.getId())) {
+        if (!lesson.getCreatedBy().getId().equals(actorId)) {
             throw new ForbiddenException("Not allowed");
         }
 
@@ -93,32 +106,40 @@ public class LessonService {
     }
 
     @Transactional
-    public LessonResponse update(String actorEmail, Long lessonId, UpdateLessonRequest req) {
-        User actor = requireActor(actorEmail);
+    public LessonResponse update(Long actorId, Long lessonId, UpdateLessonRequest req) {
         Lesson lesson = lessonRepository.findById(lessonId)
                 .orElseThrow(() -> new LessonNotFoundException("Lesson not found"));
 
-        if (!lesson.getCreatedBy().getId().equals(actor.getId())) {
+        if (!lesson.getCreatedBy().getId().equals(actorId)) {
             throw new ForbiddenException("Not allowed");
         }
 
         lesson.update(req.title().trim(), normalizeNullable(req.description()), req.status());
+        lessonBundleCache.invalidateLesson(lessonId);
         return toLessonResponse(lesson, loadItems(lessonId));
     }
 
     @Transactional
-    public LessonResponse replaceItems(String actorEmail, Long lessonId, ReplaceLessonItemsRequest req) {
-        User actor = requireActor(actorEmail);
+    public LessonResponse replaceItems(Long actorId, Long lessonId, ReplaceLessonItemsRequest req) {
         Lesson lesson = lessonRepository.findById(lessonId)
                 .orElseThrow(() -> new LessonNotFoundException("Lesson not found"));
 
-        if (!lesson.getCreatedBy().getId().equals(actor.getId())) {
+        if (!lesson.getCreatedBy().getId().equals(actorId)) {
             throw new ForbiddenException("Not allowed");
         }
 
         List<Long> taskIds = normalizeIds(req.taskIds());
+        // why: bumped first - the row lock waits out progress writes that hold the old layout and
+        // blocks new ones until the remap below commits.
+        lessonRepository.bumpItemsVersion(lessonId);
+        // why: progress bits are keyed by position, so read the old order from the table, not the cache.
+        List<Long> oldTaskIds = lessonItemRepository.findTaskIdsForLesson(lessonId);
+        lessonStructureCache.invalidate(lessonId);
+        lessonBundleCache.invalidateLesson(lessonId);
         if (taskIds.isEmpty()) {
             lessonItemRepository.deleteByLessonId(lessonId);
+            lessonProgressRepository.remapCompletedBits(lessonId, new Integer[0]);
+            lessonProgressRepository.reconcileCounts(lessonId, 0);
             return toLessonResponse(lesson, List.of());
         }
 
@@ -128,7 +149,7 @@ public class LessonService {
         }
 
         for (Task t : tasks) {
-            if (!t.getCreatedBy().getId().equals(actor.getId())) {
+            if (!t.getCreatedBy().getId().equals(actorId)) {
                 throw new ForbiddenException("Cannot use tasks created by another user");
             }
         }
@@ -138,27 +159,27 @@ public class LessonService {
 
         lessonItemRepository.deleteByLessonId(lessonId);
 
+        List<LessonItem> items = new ArrayList<>(taskIds.size());
         int pos = 0;
         for (Long tid : taskIds) {
-            lessonItemRepository.save(LessonItem.taskItem(lesson, byId.get(tid), pos++));
+            items.add(LessonItem.taskItem(lesson, byId.get(tid), pos++));
         }
+        lessonItemRepository.saveAll(items);
+
+        Integer[] oldPositions = new Integer[taskIds.size()];
+        for (int i = 0; i < oldPositions.length; i++) {
+            oldPositions[i] = oldTaskIds.indexOf(taskIds.get(i));
+        }
+        lessonProgressRepository.remapCompletedBits(lessonId, oldPositions);
+        // taskIds is already distinct, so its size is the lesson's task count
+        lessonProgressRepository.reconcileCounts(lessonId, taskIds.size());
 
         return toLessonResponse(lesson, loadItems(lessonId));
     }
 
     @Transactional
-    public LessonAssignmentResponse assignToGroupOrUser(String actorEmail, Long groupId, Long lessonId, AssignLessonRequest req) {
-        User actor = requireActor(actorEmail);
-
-        Membership teacherMembership = membershipRepository.findByUserEmailAndGroupId(actorEmail, groupId)
-                .orElseThrow(() -> {
-                    if (!groupRepository.existsById(groupId)) return new GroupNotFoundException("Group not found");
-                    return new ForbiddenException("Not a member of this group");
-                });
-
-        if (teacherMembership.getRole() != GroupRole.TEACHER) {
-            throw new ForbiddenException("Teacher role required");
-        }
+    public LessonAssignmentResponse assignToGroupOrUser(Long actorId, Long groupId, Long lessonId, AssignLessonRequest req) {
+        groupAuthorization.requireTeacher(actorId, groupId);
 
         Lesson lesson = lessonRepository.findById(lessonId)
                 .orElseThrow(() -> new LessonNotFoundException("Lesson not found"));
@@ -167,11 +188,12 @@ public class LessonService {
             throw new ForbiddenException("Cannot assign archived lesson");
         }
 
-        if (!lesson.getCreatedBy().getId().equals(actor.getId())) {
+        if (!lesson.getCreatedBy().getId().equals(actorId)) {
             throw new ForbiddenException("Cannot assign lesson created by another user");
         }
 
-        Group group = teacherMembership.getGroup();
+        Group group = groupRepository.getReferenceById(groupId);
+        User actor = userRepository.getReferenceById(actorId);
 
         User assignedTo = null;
         Long assignedToUserId = req.assignedToUserId();
@@ -187,15 +209,16 @@ public class LessonService {
         }
 
         if (assignedToUserId != null) {
-            boolean isMember = membershipRepository.existsByUserIdAndGroupId(assignedToUserId, groupId);
+            boolean isMember = groupAuthorization.isMember(assignedToUserId, groupId);
             if (!isMember) throw new IllegalArgumentException("Assigned user is not a member of this group");
             assignedTo = userRepository.findById(assignedToUserId)
                     .orElseThrow(() -> new IllegalArgumentException("Assigned user not found"));
         }
 
-        // New on top: displayOrder = (min - 1) in the bucket (groupId + assignedToUserId/null)
-        Long min = lessonAssignmentRepository.findMinDisplayOrder(groupId, assignedToUserId);
-        long displayOrder = (min == null) ? 0L : (min - 1L);
+        // New on top of its bucket (groupId + assignedToUserId/null)
+        groupRepository.lockAssignmentOrdering(groupId);
+        long displayOrder = AssignmentOrderKeys.newTopKeys(1,
+                lessonAssignmentRepository.findTopDisplayOrder(groupId, assignedToUserId))[0];
 
         LessonAssignment saved = lessonAssignmentRepository.save(new LessonAssignment(
                 group,
@@ -211,11 +234,10 @@ public class LessonService {
     }
 
     @Transactional(readOnly = true)
-    public Page<LessonAssignmentResponse> pageMyGroupWideAssignments(String actorEmail, Pageable pageable) {
-        User actor = requireActor(actorEmail);
+    public Page<LessonAssignmentResponse> pageMyGroupWideAssignments(Long actorId, Pageable pageable) {
         Instant now = Instant.now();
 
-        List<Long> groupIds = membershipRepository.findGroupIdsByUserId(actor.getId());
+        List<Long> groupIds = membershipRepository.findGroupIdsByUserId(actorId);
         if (groupIds.isEmpty()) {
             return Page.empty(pageable);
         }
@@ -224,30 +246,118 @@ public class LessonService {
     }
 
     @Transactional(readOnly = true)
-    public Page<LessonAssignmentResponse> pageMyPersonalAssignments(String actorEmail, Pageable pageable) {
-        User actor = requireActor(actorEmail);
+    public Page<LessonAssignmentResponse> pageMyPersonalAssignments(Long actorId, Pageable pageable) {
+        Instant now = Instant.now();
+        return lessonAssignmentRepository.pageStudentPersonal(actorId, now, LessonStatus.ARCHIVED, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorSlice<LessonAssignmentResponse> feedMyGroupWideAssignments(Long actorId, String cursor, int size) {
+        Instant now = Instant.now();
+        int limit = clampFeedSize(size);
+
+        List<Long> groupIds = membershipRepository.findGroupIdsByUserId(actorId);
+        if (groupIds.isEmpty()) {
+            return new CursorSlice<>(List.of(), null);
+        }
+
+        // why: one extra row tells us whether there is a next page without a COUNT.
+        Limit fetch = Limit.of(limit + 1);
+        List<LessonAssignmentResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = lessonAssignmentRepository.feedStudentGroupWide(groupIds, now, LessonStatus.ARCHIVED, fetch);
+        } else {
+            AssignmentCursor c = AssignmentCursor.decode(cursor);
+            rows = lessonAssignmentRepository.feedStudentGroupWideAfter(
+                    groupIds, now, LessonStatus.ARCHIVED, c.groupId(), c.displayOrder(), c.id(), fetch);
+        }
+        return toSlice(rows, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorSlice<LessonAssignmentResponse> feedMyPersonalAssignments(Long actorId, String cursor, int size) {
         Instant now = Instant.now();
-        return lessonAssignmentRepository.pageStudentPersonal(actor.getId(), now, LessonStatus.ARCHIVED, pageable);
+        int limit = clampFeedSize(size);
+
+        Limit fetch = Limit.of(limit + 1);
+        List<LessonAssignmentResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = lessonAssignmentRepository.feedStudentPersonal(actorId, now, LessonStatus.ARCHIVED, fetch);
+        } else {
+            AssignmentCursor c = AssignmentCursor.decode(cursor);
+            rows = lessonAssignmentRepository.feedStudentPersonalAfter(
+                    actorId, now, LessonStatus.ARCHIVED, c.groupId(), c.displayOrder(), c.id(), fetch);
+        }
+        return toSlice(rows, limit);
     }
 
+    // Student dashboard: both streams merged, each row with my progress summary.
+    // Constant number of statements per page: group ids, the page, task totals, progress.
     @Transactional(readOnly = true)
-    public Page<LessonAssignmentResponse> pageTeacherAssignments(String actorEmail, Long groupId, Long userIdOrNull, Pageable pageable) {
-        Membership m = membershipRepository.findByUserEmailAndGroupId(actorEmail, groupId)
-                .orElseThrow(() -> {
-                    if (!groupRepository.existsById(groupId)) return new GroupNotFoundException("Group not found");
-                    return new ForbiddenException("Not a member of this group");
-                });
+    public CursorSlice<StudentHomeItem> home(Long actorId, String cursor, int size) {
+        Instant now = Instant.now();
+        int limit = clampFeedSize(size);
+        List<Long> groupIds = membershipRepository.findGroupIdsByUserId(actorId);
+        // why: personal assignments live in a group too, and without membership none can be opened.
+        if (groupIds.isEmpty()) {
+            return new CursorSlice<>(List.of(), null);
+        }
+
+        Limit fetch = Limit.of(limit + 1);
+        List<LessonAssignmentResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = lessonAssignmentRepository.feedStudentHome(actorId, groupIds, now, LessonStatus.ARCHIVED, fetch);
+        } else {
+            AssignmentCursor c = AssignmentCursor.decode(cursor);
+            rows = lessonAssignmentRepository.feedStudentHomeAfter(
+                    actorId, groupIds, now, LessonStatus.ARCHIVED, c.groupId(), c.displayOrder(), c.id(), fetch);
+        }
 
-        if (m.getRole() != GroupRole.TEACHER) {
-            throw new ForbiddenException("Teacher role required");
+        CursorSlice<LessonAssignmentResponse> slice = toSlice(rows, limit);
+        if (slice.items().isEmpty()) {
+            return new CursorSlice<>(List.of(), null);
         }
 
+        Set<Long> lessonIds = new HashSet<>();
+        List<Long> assignmentIds = new ArrayList<>(slice.items().size());
+        for (LessonAssignmentResponse a : slice.items()) {
+            lessonIds.add(a.lessonId());
+            assignmentIds.add(a.id());
+        }
+
+        Map<Long, Integer> totalByLesson = new HashMap<>();
+        for (Object[] r : lessonItemRepository.countDistinctTasksByLessonIds(lessonIds)) {
+            totalByLesson.put((Long) r[0], ((Long) r[1]).intValue());
+        }
+
+        Map<Long, AssignmentProgressRow> progressByAssignment = new HashMap<>();
+        for (AssignmentProgressRow r : lessonProgressRepository.summarizeForUser(actorId, assignmentIds)) {
+            progressByAssignment.put(r.assignmentId(), r);
+        }
+
+        List<StudentHomeItem> items = new ArrayList<>(slice.items().size());
+        for (LessonAssignmentResponse a : slice.items()) {
+            AssignmentProgressRow p = progressByAssignment.get(a.id());
+            items.add(new StudentHomeItem(
+                    a,
+                    p == null ? LessonProgressStatus.NOT_STARTED : p.status(),
+                    p == null ? 0 : (int) p.doneCount(),
+                    totalByLesson.getOrDefault(a.lessonId(), 0)
+            ));
+        }
+        return new CursorSlice<>(items, slice.nextCursor());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<LessonAssignmentResponse> pageTeacherAssignments(Long actorId, Long groupId, Long userIdOrNull, Pageable pageable) {
+        groupAuthorization.requireTeacher(actorId, groupId);
+
         if (userIdOrNull == null) {
             return lessonAssignmentRepository.pageTeacherGroupWide(groupId, pageable);
         }
 
         // ensure target is a member of the group
-        if (!membershipRepository.existsByUserIdAndGroupId(userIdOrNull, groupId)) {
+        if (!groupAuthorization.isMember(userIdOrNull, groupId)) {
             throw new IllegalArgumentException("Assigned user is not a member of this group");
         }
 
@@ -255,16 +365,8 @@ public class LessonService {
     }
 
     @Transactional(readOnly = true)
-    public List<LessonAssignmentResponse> listAssignmentsForGroup(String actorEmail, Long groupId, Long userIdOrNull) {
-        Membership m = membershipRepository.findByUserEmailAndGroupId(actorEmail, groupId)
-                .orElseThrow(() -> {
-                    if (!groupRepository.existsById(groupId)) return new GroupNotFoundException("Group not found");
-                    return new ForbiddenException("Not a member of this group");
-                });
-
-        if (m.getRole() != GroupRole.TEACHER) {
-            throw new ForbiddenException("Teacher role required");
-        }
+    public List<LessonAssignmentResponse> listAssignmentsForGroup(Long actorId, Long groupId, Long userIdOrNull) {
+        groupAuthorization.requireTeacher(actorId, groupId);
 
         return lessonAssignmentRepository.findForGroup(groupId, userIdOrNull)
                 .stream()
@@ -273,19 +375,12 @@ public class LessonService {
     }
 
     @Transactional
-    public void reorderAssignmentsForGroup(String actorEmail, Long groupId, ReorderLessonAssignmentsRequest req) {
-        Membership m = membershipRepository.findByUserEmailAndGroupId(actorEmail, groupId)
-                .orElseThrow(() -> {
-                    if (!groupRepository.existsById(groupId)) return new GroupNotFoundException("Group not found");
-                    return new ForbiddenException("Not a member of this group");
-                });
-
-        if (m.getRole() != GroupRole.TEACHER) {
-            throw new ForbiddenException("Teacher role required");
-        }
+    public void reorderAssignmentsForGroup(Long actorId, Long groupId, ReorderLessonAssignmentsRequest req) {
+        groupAuthorization.requireTeacher(actorId, groupId);
 
         List<Long> ids = normalizeIds(req.assignmentIds());
         if (ids.isEmpty()) return;
+        groupRepository.lockAssignmentOrdering(groupId);
 
         List<LessonAssignment> assignments = lessonAssignmentRepository.findAllById(ids);
         if (assignments.size() != ids.size()) {
@@ -306,24 +401,78 @@ public class LessonService {
         Map<Long, LessonAssignment> byId = new HashMap<>();
         for (LessonAssignment a : assignments) byId.put(a.getId(), a);
 
+        // Spaced keys leave room for later single-row moves.
         long order = 0L;
         for (Long id : ids) {
             LessonAssignment a = byId.get(id);
-            a.setDisplayOrder(order++);
+            order += AssignmentOrderKeys.GAP;
+            a.setDisplayOrder(order);
         }
 
         lessonAssignmentRepository.saveAll(assignments);
     }
 
+    // Moves one assignment between two neighbours by rewriting only its key.
+    // If the neighbours' keys are adjacent, the bucket is renumbered first.
     @Transactional
-    public void archive(String actorEmail, Long lessonId) {
-        User actor = userRepository.findByEmail(actorEmail)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
+    public LessonAssignmentResponse moveAssignment(Long actorId, Long groupId, Long assignmentId, MoveLessonAssignmentRequest req) {
+        groupAuthorization.requireTeacher(actorId, groupId);
+        // why: the neighbour keys must not change under us (rebalancer, another move) until commit.
+        groupRepository.lockAssignmentOrdering(groupId);
+
+        LessonAssignment target = lessonAssignmentRepository.findByIdAndGroupId(assignmentId, groupId)
+                .orElseThrow(() -> new IllegalArgumentException("Assignment not found"));
+        Long bucketUserId = (target.getAssignedToUser() == null) ? null : target.getAssignedToUser().getId();
+
+        Long placed = keyBetweenNeighbours(groupId, bucketUserId, target, req);
+        if (placed == null) {
+            // clears the persistence context, so reload what we touch afterwards
+            lessonAssignmentRepository.rebalanceBucket(groupId, bucketUserId, AssignmentOrderKeys.GAP);
+            target = lessonAssignmentRepository.findByIdAndGroupId(assignmentId, groupId)
+                    .orElseThrow(() -> new IllegalArgumentException("Assignment not found"));
+            placed = keyBetweenNeighbours(groupId, bucketUserId, target, req);
+            if (placed == null) {
+                throw new IllegalStateException("No ordering gap after rebalance");
+            }
+        }
+
+        target.setDisplayOrder(placed);
+        return toAssignmentResponse(target);
+    }
+
+    private Long keyBetweenNeighbours(Long groupId, Long bucketUserId, LessonAssignment target, MoveLessonAssignmentRequest req) {
+        if (req.aboveId() == null && req.belowId() == null) {
+            throw new IllegalArgumentException("aboveId or belowId is required");
+        }
+        Long above = neighbourKey(groupId, bucketUserId, target, req.aboveId());
+        Long below = neighbourKey(groupId, bucketUserId, target, req.belowId());
+        if (above != null && below != null && above > below) {
+            throw new IllegalArgumentException("aboveId must be ordered before belowId");
+        }
+        return AssignmentOrderKeys.between(above, below);
+    }
+
+    private Long neighbourKey(Long groupId, Long bucketUserId, LessonAssignment target, Long neighbourId) {
+        if (neighbourId == null) return null;
+        if (neighbourId.equals(target.getId())) {
+            throw new IllegalArgumentException("Assignment cannot be its own neighbour");
+        }
+
+        LessonAssignment n = lessonAssignmentRepository.findByIdAndGroupId(neighbourId, groupId)
+                .orElseThrow(() -> new IllegalArgumentException("Neighbour assignment not found"));
+        Long nUserId = (n.getAssignedToUser() == null) ? null : n.getAssignedToUser().getId();
+        if (!Objects.equals(bucketUserId, nUserId)) {
+            throw new IllegalArgumentException("Neighbour must belong to the same bucket");
+        }
+        return n.getDisplayOrder();
+    }
 
+    @Transactional
+    public void archive(Long actorId, Long lessonId) {
         Lesson lesson = lessonRepository.findById(lessonId)
                 .orElseThrow(() -> new LessonNotFoundException("Lesson not found"));
 
-        if (!lesson.getCreatedBy().getId().equals(actor.getId())) {
+        if (!lesson.getCreatedBy().getId().equals(actorId)) {
             throw new ForbiddenException("Not allowed");
         }
 
@@ -333,16 +482,8 @@ public class LessonService {
     }
 
     @Transactional
-    public void unassignLesson(String actorEmail, Long groupId, Long assignmentId) {
-        Membership m = membershipRepository.findByUserEmailAndGroupId(actorEmail, groupId)
-                .orElseThrow(() -> {
-                    if (!groupRepository.existsById(groupId)) return new GroupNotFoundException("Group not found");
-                    return new ForbiddenException("Not a member of this group");
-                });
-
-        if (m.getRole() != GroupRole.TEACHER) {
-            throw new ForbiddenException("Teacher role required");
-        }
+    public void unassignLesson(Long actorId, Long groupId, Long assignmentId) {
+        groupAuthorization.requireTeacher(actorId, groupId);
 
         LessonAssignment a = lessonAssignmentRepository.findByIdAndGroupId(assignmentId, groupId)
                 .orElseThrow(() -> new IllegalArgumentException("Assignment not found"));
@@ -352,20 +493,12 @@ public class LessonService {
 
     @Transactional
     public LessonAssignmentResponse updateAssignment(
-            String actorEmail,
+            Long actorId,
             Long groupId,
             Long assignmentId,
             UpdateLessonAssignmentRequest req
     ) {
-        Membership m = membershipRepository.findByUserEmailAndGroupId(actorEmail, groupId)
-                .orElseThrow(() -> {
-                    if (!groupRepository.existsById(groupId)) return new GroupNotFoundException("Group not found");
-                    return new ForbiddenException("Not a member of this group");
-                });
-
-        if (m.getRole() != GroupRole.TEACHER) {
-            throw new ForbiddenException("Teacher role required");
-        }
+        groupAuthorization.requireTeacher(actorId, groupId);
 
         LessonAssignment a = lessonAssignmentRepository.findByIdAndGroupId(assignmentId, groupId)
                 .orElseThrow(() -> new IllegalArgumentException("Assignment not found"));
@@ -383,16 +516,8 @@ public class LessonService {
     }
 
     @Transactional
-    public BulkAssignLessonsResponse bulkAssignLessons(String actorEmail, Long groupId, BulkAssignLessonsRequest req) {
-        Membership m = membershipRepository.findByUserEmailAndGroupId(actorEmail, groupId)
-                .orElseThrow(() -> {
-                    if (!groupRepository.existsById(groupId)) return new GroupNotFoundException("Group not found");
-                    return new ForbiddenException("Not a member of this group");
-                });
-
-        if (m.getRole() != GroupRole.TEACHER) {
-            throw new ForbiddenException("Teacher role required");
-        }
+    public BulkAssignLessonsResponse bulkAssignLessons(Long actorId, Long groupId, BulkAssignLessonsRequest req) {
+        groupAuthorization.requireTeacher(actorId, groupId);
 
         if (req.lessonIds() == null || req.lessonIds().isEmpty()) {
             return new BulkAssignLessonsResponse(List.of(), List.of());
@@ -411,14 +536,15 @@ public class LessonService {
         User assignedToUser = null;
 
         if (assignedToUserId != null) {
-            if (!membershipRepository.existsByUserIdAndGroupId(assignedToUserId, groupId)) {
+            if (!groupAuthorization.isMember(assignedToUserId, groupId)) {
                 throw new IllegalArgumentException("User is not a member of this group");
             }
             assignedToUser = userRepository.findById(assignedToUserId)
                     .orElseThrow(() -> new IllegalArgumentException("User not found"));
         }
 
-        Group group = m.getGroup();
+        Group group = groupRepository.getReferenceById(groupId);
+        User assignedBy = userRepository.getReferenceById(actorId);
 
         List<Lesson> lessons = lessonRepository.findAllById(lessonIds);
         Set<Long> found = lessons.stream().map(Lesson::getId).collect(Collectors.toSet());
@@ -451,11 +577,14 @@ public class LessonService {
             return new BulkAssignLessonsResponse(created, skipped);
         }
 
-        Long currentMin = lessonAssignmentRepository.findMinDisplayOrder(groupId, assignedToUserId);
-        long base = (currentMin == null ? 0L : currentMin) - nNew;
+        groupRepository.lockAssignmentOrdering(groupId);
+        long[] keys = AssignmentOrderKeys.newTopKeys(nNew,
+                lessonAssignmentRepository.findTopDisplayOrder(groupId, assignedToUserId));
+        int k = 0;
 
         Map<Long, Lesson> byId = lessons.stream().collect(Collectors.toMap(Lesson::getId, l -> l));
 
+        List<LessonAssignment> toSave = new ArrayList<>(nNew);
         for (Long id : lessonIds) {
             if (existing.containsKey(id)) {
                 skipped.add(new BulkAssignLessonsResponse.Skipped(id, "ALREADY_ASSIGNED", existing.get(id)));
@@ -463,7 +592,6 @@ public class LessonService {
             }
 
             Lesson lesson = byId.get(id);
-            User assignedBy = m.getUser();
             LessonAssignment a = new LessonAssignment(
                     group,
                     lesson,
@@ -471,11 +599,12 @@ public class LessonService {
                     assignedBy,
                     from,
                     to,
-                    base
+                    keys[k++]
             );
-            base++;
+            toSave.add(a);
+        }
 
-            LessonAssignment saved = lessonAssignmentRepository.save(a);
+        for (LessonAssignment saved : lessonAssignmentRepository.saveAll(toSave)) {
             created.add(toAssignmentResponse(saved));
         }
 
@@ -489,6 +618,31 @@ public class LessonService {
                 .toList();
     }
 
+    private static int clampFeedSize(int size) {
+        return Math.max(1, Math.min(size, MAX_FEED_SIZE));
+    }
+
+    private static CursorSlice<LessonAssignmentResponse> toSlice(List<LessonAssignmentResponse> rows, int limit) {
+        if (rows.size() <= limit) {
+            return new CursorSlice<>(rows, null);
+        }
+        List<LessonAssignmentResponse> page = rows.subList(0, limit);
+        return new CursorSlice<>(List.copyOf(page), AssignmentCursor.after(page.get(limit - 1)).encode());
+    }
+
+    // One IN query for a whole page instead of one query per lesson.
+    private Map<Long, List<LessonItemResponse>> loadItems(List<Lesson> lessons) {
+        if (lessons.isEmpty()) return Map.of();
+
+        List<Long> lessonIds = lessons.stream().map(Lesson::getId).toList();
+        Map<Long, List<LessonItemResponse>> byLesson = new HashMap<>();
+        for (LessonItemRow row : lessonItemRepository.findRowsByLessonIds(lessonIds)) {
+            byLesson.computeIfAbsent(row.lessonId(), k -> new ArrayList<>())
+                    .add(new LessonItemResponse(row.position(), row.itemType(), row.taskId()));
+        }
+        return byLesson;
+    }
+
     private LessonResponse toLessonResponse(Lesson lesson, List<LessonItemResponse> items) {
         return new LessonResponse(
                 lesson.getId(),
@@ -516,11 +670,6 @@ public class LessonService {
         );
     }
 
-    private User requireActor(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
-    }
-
     private String normalizeNullable(String s) {
         if (s == null) return null;
         String t = s.trim();
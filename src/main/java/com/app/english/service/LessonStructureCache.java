@@ -0,0 +1,180 @@
+package com.app.english.service;
+
+import com.app.english.config.LessonCacheProperties;
+import com.app.english.models.Lesson;
+import com.app.english.repository.LessonItemRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// lessonId -> ordered task ids. A lesson's items only change in LessonService.replaceItems,
+// which bumps lessons.items_version and invalidates the entry after commit. Callers pass the
+// items_version they read, so an entry left behind by another node (or loaded before the
+// commit) is noticed and re-loaded instead of being trusted.
+@Component
+public class LessonStructureCache {
+
+    private final LessonItemRepository lessonItemRepository;
+    private final Cache<Long, LessonStructure> cache;
+
+    public LessonStructureCache(
+            LessonItemRepository lessonItemRepository,
+            LessonCacheProperties props,
+            MeterRegistry meterRegistry
+    ) {
+        this.lessonItemRepository = lessonItemRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(props.structureMaxSize())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "lessons.structure");
+    }
+
+    // For reads: the version comes from the already loaded Lesson entity.
+    public LessonStructure get(Lesson lesson) {
+        return get(lesson.getId(), lesson.getItemsVersion());
+    }
+
+    // Structure at the given items_version. For writes keyed by position, take the version
+    // from LessonRepository.lockItemsVersion so it can't change before commit.
+    public LessonStructure get(Long lessonId, long itemsVersion) {
+        LessonStructure s = cache.get(lessonId, this::load);
+        if (s.itemsVersion() >= itemsVersion) return s;
+
+        // why: a newer version than ours was committed since the entry was loaded.
+        cache.invalidate(lessonId);
+        return cache.get(lessonId, this::load);
+    }
+
+    public void invalidate(Long lessonId) {
+        cache.invalidate(lessonId);
+
+        // why: a concurrent reader could re-load the old items before our transaction commits.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(lessonId);
+                }
+            });
+        }
+    }
+
+    private LessonStructure load(Long lessonId) {
+        List<Object[]> rows = lessonItemRepository.findTaskIdsWithItemsVersion(lessonId);
+        long itemsVersion = rows.isEmpty() ? 0L : ((Number) rows.getFirst()[0]).longValue();
+        long[] ids = rows.stream()
+                .filter(r -> r[1] != null)
+                .mapToLong(r -> ((Number) r[1]).longValue())
+                .toArray();
+        return new LessonStructure(lessonId, itemsVersion, ids);
+    }
+
+    // Immutable snapshot of one lesson's task ids in position order.
+    public static final class LessonStructure {
+
+        // Ids spanning more than this many values fall back to binary search instead of a bitmap.
+        private static final long MAX_BITMAP_SPAN = 1L << 16;
+
+        private final long lessonId;
+        private final long itemsVersion;
+        private final long[] taskIds;       // position order, may repeat
+        private final long[] sortedDistinct;
+        private final long bitmapBase;
+        private final long[] bitmap;        // null when the id span is too wide
+
+        LessonStructure(long lessonId, long itemsVersion, long[] taskIds) {
+            this.lessonId = lessonId;
+            this.itemsVersion = itemsVersion;
+            this.taskIds = taskIds;
+            this.sortedDistinct = Arrays.stream(taskIds).sorted().distinct().toArray();
+
+            if (sortedDistinct.length > 0
+                    && sortedDistinct[sortedDistinct.length - 1] - sortedDistinct[0] < MAX_BITMAP_SPAN) {
+                this.bitmapBase = sortedDistinct[0];
+                long span = sortedDistinct[sortedDistinct.length - 1] - bitmapBase + 1;
+                this.bitmap = new long[(int) ((span + 63) >>> 6)];
+                for (long id : sortedDistinct) {
+                    long bit = id - bitmapBase;
+                    bitmap[(int) (bit >>> 6)] |= 1L << bit;
+                }
+            } else {
+                this.bitmapBase = 0L;
+                this.bitmap = null;
+            }
+        }
+
+        public long lessonId() { return lessonId; }
+
+        // lessons.items_version the task ids were read at.
+        public long itemsVersion() { return itemsVersion; }
+
+        public int size() { return taskIds.length; }
+
+        public long taskIdAt(int position) { return taskIds[position]; }
+
+        public int distinctCount() { return sortedDistinct.length; }
+
+        public boolean contains(long taskId) {
+            if (bitmap != null) {
+                long bit = taskId - bitmapBase;
+                if (bit < 0 || bit >= ((long) bitmap.length << 6)) return false;
+                return (bitmap[(int) (bit >>> 6)] & (1L << bit)) != 0;
+            }
+            return Arrays.binarySearch(sortedDistinct, taskId) >= 0;
+        }
+
+        // Position of the first item with this task, or -1.
+        public int indexOf(long taskId) {
+            if (!contains(taskId)) return -1;
+            for (int i = 0; i < taskIds.length; i++) {
+                if (taskIds[i] == taskId) return i;
+            }
+            return -1;
+        }
+
+        // Bit string in lesson_progress.completed_bits layout ('1' at each given task's first
+        // position, one char per item); tasks outside the lesson are ignored.
+        public String positionMask(Collection<Long> ids) {
+            char[] bits = new char[taskIds.length];
+            Arrays.fill(bits, '0');
+            for (Long id : ids) {
+                if (id == null) continue;
+                int i = indexOf(id);
+                if (i >= 0) bits[i] = '1';
+            }
+            return new String(bits);
+        }
+
+        // Task ids whose position is set in a completed_bits string; null means none.
+        public Set<Long> tasksAt(String bits) {
+            if (bits == null || bits.isEmpty()) return Set.of();
+            int n = Math.min(bits.length(), taskIds.length);
+            Set<Long> ids = new HashSet<>();
+            for (int i = 0; i < n; i++) {
+                if (bits.charAt(i) == '1') ids.add(taskIds[i]);
+            }
+            return ids;
+        }
+
+        // How many distinct lesson tasks are in the given set.
+        public int countContained(Collection<Long> ids) {
+            int n = 0;
+            for (Long id : ids) {
+                if (id != null && contains(id)) n++;
+            }
+            return n;
+        }
+    }
+}
@@ -42,9 +42,8 @@ public class MediaService {
     }
 
     @Transactional
-    public MediaUploadResponse upload(String actorEmail, MultipartFile file) {
-        User actor = userRepo.findByEmail(actorEmail)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
+    public MediaUploadResponse upload(Long actorId, MultipartFile file) {
+        User actor = userRepo.getReferenceById(actorId);
 
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("File is required");
@@ -92,7 +91,7 @@ public class MediaService {
     }
 
     @Transactional(readOnly = true)
-    public MediaInfoResponse info(String actorEmail, Long id) {
+    public MediaInfoResponse info(Long actorId, Long id) {
         // auth is required by security config; this is "private" (not public internet)
         MediaFile mf = mediaRepo.findById(id)
                 .orElseThrow(() -> new MediaNotFoundException("Media not found"));
@@ -108,7 +107,7 @@ public class MediaService {
     }
 
     @Transactional(readOnly = true)
-    public LoadedMedia load(String actorEmail, Long id) {
+    public LoadedMedia load(Long actorId, Long id) {
         MediaFile mf = mediaRepo.findById(id)
                 .orElseThrow(() -> new MediaNotFoundException("Media not found"));
 
@@ -124,14 +123,11 @@ public class MediaService {
     }
 
     @Transactional
-    public void delete(String actorEmail, Long id) {
-        User actor = userRepo.findByEmail(actorEmail)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
-
+    public void delete(Long actorId, Long id) {
         MediaFile mf = mediaRepo.findById(id)
                 .orElseThrow(() -> new MediaNotFoundException("Media not found"));
 
-        if (!mf.getCreatedBy().getId().equals(actor.getId())) {
+        if (!mf.getCreatedBy().getId().equals(actorId)) {
             throw new ForbiddenException("Not allowed");
         }
 
@@ -0,0 +1,31 @@
+package com.app.english.service;
+
+import com.app.english.models.Membership;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+// JPA entity listener: joining, leaving or a role change drops the cached role for that pair
+// and re-checks that user's live progress streams for the group.
+@Component
+public class MembershipEvictionListener {
+
+    private final GroupAuthorization groupAuthorization;
+    private final ProgressEventBus progressEventBus;
+
+    public MembershipEvictionListener(GroupAuthorization groupAuthorization, ProgressEventBus progressEventBus) {
+        this.groupAuthorization = groupAuthorization;
+        this.progressEventBus = progressEventBus;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void evict(Membership membership) {
+        Long userId = membership.getUser().getId();
+        Long groupId = membership.getGroup().getId();
+        groupAuthorization.evict(userId, groupId);
+        progressEventBus.recheck(userId, groupId);
+    }
+}
@@ -0,0 +1,117 @@
+package com.app.english.service;
+
+import com.app.english.config.PasswordHashingProperties;
+import com.app.english.exceptions.ServiceBusyException;
+import com.app.english.security.CalibratedBcryptEncoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.*;
+
+// Runs BCrypt on a CPU-sized pool behind a bounded queue, so a login burst can't occupy
+// every servlet thread. When the queue is full callers get a fast 503 instead of waiting.
+@Service
+public class PasswordHashingService {
+
+    private final CalibratedBcryptEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+
+    private final Timer hashTimer;
+    private final Counter rejected;
+
+    public PasswordHashingService(
+            CalibratedBcryptEncoder passwordEncoder,
+            PasswordHashingProperties props,
+            MeterRegistry meterRegistry
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfterSeconds = props.retryAfterSeconds();
+
+        int threads = (props.threads() > 0) ? props.threads() : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(props.queueCapacity()),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        Gauge.builder("auth.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("auth.hashing.duration").register(meterRegistry);
+        this.rejected = Counter.builder("auth.hashing.rejected").register(meterRegistry);
+    }
+
+    // why: calibration hashes for up to a few seconds; do it on the hashing pool once the app is
+    // up instead of blocking context startup or the first sign-in's servlet thread.
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        try {
+            executor.execute(passwordEncoder::cost);
+        } catch (RejectedExecutionException e) {
+            // already busy: the first hash calibrates instead
+        }
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String hash) {
+        return run(() -> passwordEncoder.matches(rawPassword, hash));
+    }
+
+    // True when the stored hash is weaker than this machine's target. Never downgrades: nodes
+    // may calibrate to different costs, and a slower one must not undo a faster one's rehash.
+    public boolean needsRehash(String hash) {
+        int cost = costOf(hash);
+        return cost > 0 && cost < passwordEncoder.cost();
+    }
+
+    // "$2a$12$..." -> 12; -1 when the hash is not in BCrypt's modular format.
+    private static int costOf(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(3) != '$' || hash.charAt(6) != '$') {
+            return -1;
+        }
+        char tens = hash.charAt(4);
+        char ones = hash.charAt(5);
+        if (!Character.isDigit(tens) || !Character.isDigit(ones)) return -1;
+        return (tens - '0') * 10 + (ones - '0');
+    }
+
+    private <T> T run(Callable<T> work) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> hashTimer.recordCallable(work));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceBusyException("Too many sign-in attempts, try again shortly", retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,229 @@
+package com.app.english.service;
+
+import com.app.english.config.ProgressStreamProperties;
+import com.app.english.dto.lessons.ProgressEvent;
+import com.app.english.models.GroupRole;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// In-process fan-out of progress events to SSE subscribers, per group. Publishing never blocks:
+// each subscriber has its own bounded lock-free queue (oldest events dropped when full) and is
+// drained on its own virtual thread, so a send stuck on one browser's TCP window parks only that
+// subscriber. A subscriber stuck in one send past the write timeout is dropped, and so is one whose
+// teacher role is gone (re-checked on every heartbeat and right after a membership change).
+@Component
+public class ProgressEventBus {
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final Map<Long, CopyOnWriteArrayList<Subscriber>> subscribersByGroup = new ConcurrentHashMap<>();
+    private final GroupAuthorization groupAuthorization;
+    private final ExecutorService dispatcher;
+    private final int queueCapacity;
+    private final long emitterTimeoutMs;
+    private final long writeTimeoutNanos;
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter published;
+    private final Counter dropped;
+    private final Counter slowEvicted;
+
+    public ProgressEventBus(ProgressStreamProperties props, GroupAuthorization groupAuthorization, MeterRegistry meterRegistry) {
+        this.groupAuthorization = groupAuthorization;
+        this.queueCapacity = props.queueCapacity();
+        this.emitterTimeoutMs = props.emitterTimeout().toMillis();
+        this.writeTimeoutNanos = props.writeTimeout().toNanos();
+        // why: emitter.send blocks on the socket; a shared fixed pool would let a few stalled
+        // clients hold every dispatch thread and stop delivery to all other subscribers.
+        this.dispatcher = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("progress-sse-", 0).factory());
+
+        Gauge.builder("progress.stream.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+        this.published = Counter.builder("progress.stream.published").register(meterRegistry);
+        this.dropped = Counter.builder("progress.stream.dropped").register(meterRegistry);
+        this.slowEvicted = Counter.builder("progress.stream.slow_evicted").register(meterRegistry);
+    }
+
+    // The caller has already checked that teacherId teaches groupId.
+    public SseEmitter subscribe(Long teacherId, Long groupId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber s = new Subscriber(teacherId, groupId, emitter);
+
+        subscribersByGroup.computeIfAbsent(groupId, k -> new CopyOnWriteArrayList<>()).add(s);
+        subscriberCount.incrementAndGet();
+
+        emitter.onCompletion(() -> unsubscribe(s));
+        emitter.onTimeout(() -> unsubscribe(s));
+        emitter.onError(e -> unsubscribe(s));
+        return emitter;
+    }
+
+    // Services publish through ApplicationEventPublisher; listeners run only after the commit,
+    // so teachers never see a change that was rolled back.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProgressEvent(ProgressEvent event) {
+        published.increment();
+        List<Subscriber> subs = subscribersByGroup.get(event.groupId());
+        if (subs == null) return;
+        for (Subscriber s : subs) s.offer(event);
+    }
+
+    // why: proxies drop idle connections, and a failed write is how we notice a client is gone.
+    @Scheduled(fixedDelayString = "${app.progress-stream.heartbeat-interval-ms}")
+    void heartbeat() {
+        long now = System.nanoTime();
+        for (List<Subscriber> subs : subscribersByGroup.values()) {
+            for (Subscriber s : subs) {
+                if (s.stalledSince(now) > writeTimeoutNanos) {
+                    s.evictSlow();
+                } else if (!closeIfNoLongerTeacher(s)) {
+                    s.offer(HEARTBEAT);
+                }
+            }
+        }
+    }
+
+    // Called when a membership row changes; the check runs after commit so it sees the new role.
+    public void recheck(Long userId, Long groupId) {
+        Runnable check = () -> {
+            List<Subscriber> subs = subscribersByGroup.get(groupId);
+            if (subs == null) return;
+            for (Subscriber s : subs) {
+                if (s.userId.equals(userId)) closeIfNoLongerTeacher(s);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    check.run();
+                }
+            });
+        } else {
+            check.run();
+        }
+    }
+
+    private boolean closeIfNoLongerTeacher(Subscriber s) {
+        if (groupAuthorization.roleOf(s.userId, s.groupId).orElse(null) == GroupRole.TEACHER) return false;
+        s.emitter.complete();
+        unsubscribe(s);
+        return true;
+    }
+
+    private void unsubscribe(Subscriber s) {
+        if (!s.closed.compareAndSet(false, true)) return;
+        subscriberCount.decrementAndGet();
+        subscribersByGroup.computeIfPresent(s.groupId, (k, list) -> {
+            list.remove(s);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        for (List<Subscriber> subs : subscribersByGroup.values()) {
+            for (Subscriber s : subs) s.emitter.complete();
+        }
+    }
+
+    private final class Subscriber {
+        final Long userId;
+        final Long groupId;
+        final SseEmitter emitter;
+        final ConcurrentLinkedQueue<Object> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger size = new AtomicInteger();
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+        // nanoTime when the current send started, 0 while not sending
+        volatile long sendStartedAt;
+        volatile Thread sender;
+
+        Subscriber(Long userId, Long groupId, SseEmitter emitter) {
+            this.userId = userId;
+            this.groupId = groupId;
+            this.emitter = emitter;
+        }
+
+        void offer(Object event) {
+            if (closed.get()) return;
+            queue.offer(event);
+            // drop-oldest: a full queue loses its head, never the newest delta
+            if (size.incrementAndGet() > queueCapacity && queue.poll() != null) {
+                size.decrementAndGet();
+                dropped.increment();
+            }
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false); // shutting down
+                }
+            }
+        }
+
+        long stalledSince(long now) {
+            long started = sendStartedAt;
+            return started == 0 ? 0 : now - started;
+        }
+
+        // Completing the emitter closes the response; interrupting unblocks a write parked on it.
+        void evictSlow() {
+            if (closed.get()) return;
+            slowEvicted.increment();
+            emitter.completeWithError(new TimeoutException("SSE write stalled"));
+            unsubscribe(this);
+            Thread t = sender;
+            if (t != null) t.interrupt();
+        }
+
+        void drain() {
+            sender = Thread.currentThread();
+            try {
+                Object next;
+                while (!closed.get() && (next = queue.poll()) != null) {
+                    size.decrementAndGet();
+                    sendStartedAt = System.nanoTime();
+                    if (next == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("ping"));
+                    } else {
+                        ProgressEvent e = (ProgressEvent) next;
+                        emitter.send(SseEmitter.event().name(e.type().name()).data(e, MediaType.APPLICATION_JSON));
+                    }
+                    sendStartedAt = 0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // client went away (or the emitter already completed)
+                emitter.completeWithError(e);
+                unsubscribe(this);
+                return;
+            } finally {
+                sendStartedAt = 0;
+                sender = null;
+                draining.set(false);
+            }
+            if (closed.get()) return;
+            // an offer may have landed between the last poll and releasing the flag
+            if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+    }
+}
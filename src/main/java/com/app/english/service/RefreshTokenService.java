@@ -2,6 +2,7 @@ package com.app.english.service;
 
 import com.app.english.exceptions.InvalidRefreshTokenException;
 import com.app.english.models.RefreshToken;
+import com.app.english.models.Role;
 import com.app.english.models.User;
 import com.app.english.repository.RefreshTokenRepository;
 import org.springframework.stereotype.Service;
@@ -13,7 +14,7 @@ import java.security.SecureRandom;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Base64;
-import java.util.List;
+import java.util.UUID;
 
 @Service
 public class RefreshTokenService {
@@ -31,44 +32,41 @@ public class RefreshTokenService {
 
     public record IssuedRefreshToken(String rawToken, Instant expiresAt) {}
 
+    public record Rotation(Long userId, String email, Role role, IssuedRefreshToken issued) {}
+
     @Transactional
     public IssuedRefreshToken issue(User user) {
-        enforceLimit(user.getId());
-
         String raw = generateRandomToken();
-        String hash = sha256Hex(raw);
-        Instant expiresAt = Instant.now().plus(REFRESH_TTL_DAYS, ChronoUnit.DAYS);
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(REFRESH_TTL_DAYS, ChronoUnit.DAYS);
 
-        refreshTokenRepository.save(new RefreshToken(hash, user, expiresAt));
+        refreshTokenRepository.insertTrimmingActive(
+                sha256Hex(raw), user.getId(), now, expiresAt, UUID.randomUUID(), MAX_ACTIVE_TOKENS - 1);
         return new IssuedRefreshToken(raw, expiresAt);
     }
 
-    private void enforceLimit(Long userId) {
+    // why: the family revocation on reuse must survive the exception that rejects the request.
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String oldRawToken) {
+        String oldHash = sha256Hex(oldRawToken);
+        String raw = generateRandomToken();
         Instant now = Instant.now();
-        long active = refreshTokenRepository.countByUserIdAndRevokedFalseAndExpiresAtAfter(userId, now);
-        if (active < MAX_ACTIVE_TOKENS) return;
+        Instant expiresAt = now.plus(REFRESH_TTL_DAYS, ChronoUnit.DAYS);
 
-        List<RefreshToken> tokens =
-                refreshTokenRepository.findByUserIdAndRevokedFalseAndExpiresAtAfterOrderByIdAsc(userId, now);
-
-        int toRevoke = (int) (active - MAX_ACTIVE_TOKENS + 1);
-        for (int i = 0; i < Math.min(toRevoke, tokens.size()); i++) {
-            tokens.get(i).revoke();
+        var owner = refreshTokenRepository.rotate(oldHash, sha256Hex(raw), now, expiresAt, MAX_ACTIVE_TOKENS - 1);
+        if (owner.isPresent()) {
+            var o = owner.get();
+            return new Rotation(o.getUserId(), o.getEmail(), Role.valueOf(o.getRole()), new IssuedRefreshToken(raw, expiresAt));
         }
-    }
-
-    @Transactional
-    public User validateAndGetUser(String rawToken) {
-        String hash = sha256Hex(rawToken);
 
-        RefreshToken token = refreshTokenRepository.findByTokenHash(hash)
-                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
-
-        if (token.isRevoked() || token.isExpired(Instant.now())) {
-            throw new InvalidRefreshTokenException("Invalid refresh token");
-        }
+        // Miss: unknown, expired, or already rotated. A rotated token showing up again means it
+        // leaked (or a client replayed it), so nothing issued from that login can be trusted.
+        refreshTokenRepository.findByTokenHash(oldHash)
+                .filter(RefreshToken::isRevoked)
+                .map(RefreshToken::getFamilyId)
+                .ifPresent(refreshTokenRepository::revokeFamily);
 
-        return token.getUser();
+        throw new InvalidRefreshTokenException("Invalid refresh token");
     }
 
     @Transactional
@@ -77,11 +75,6 @@ public class RefreshTokenService {
         refreshTokenRepository.findByTokenHash(hash).ifPresent(RefreshToken::revoke);
     }
 
-    @Transactional
-    public void rotate(String oldRawToken) {
-        revoke(oldRawToken);
-    }
-
     private String generateRandomToken() {
         byte[] bytes = new byte[TOKEN_BYTES];
         secureRandom.nextBytes(bytes);
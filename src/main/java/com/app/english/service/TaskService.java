@@ -24,25 +24,30 @@ public class TaskService {
     private final VocabularyRepository vocabularyRepository;
     private final UserRepository userRepository;
     private final LessonItemRepository lessonItemRepository;
+    private final LessonBundleCache lessonBundleCache;
+    private final AnswerGrader answerGrader;
 
     public TaskService(
             TaskRepository taskRepository,
             TaskVocabularyRepository taskVocabularyRepository,
             VocabularyRepository vocabularyRepository,
             UserRepository userRepository,
-            LessonItemRepository lessonItemRepository
+            LessonItemRepository lessonItemRepository,
+            LessonBundleCache lessonBundleCache,
+            AnswerGrader answerGrader
     ) {
         this.taskRepository = taskRepository;
         this.taskVocabularyRepository = taskVocabularyRepository;
         this.vocabularyRepository = vocabularyRepository;
         this.userRepository = userRepository;
         this.lessonItemRepository = lessonItemRepository;
+        this.lessonBundleCache = lessonBundleCache;
+        this.answerGrader = answerGrader;
     }
 
     @Transactional
-    public TaskResponse create(String actorEmail, CreateTaskRequest req) {
-        User actor = userRepository.findByEmail(actorEmail)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
+    public TaskResponse create(Long actorId, CreateTaskRequest req) {
+        User actor = userRepository.getReferenceById(actorId);
 
         TaskStatus status = (req.status() == null) ? TaskStatus.DRAFT : req.status();
         Task task = new Task(req.title().trim(), req.type(), status, req.payload(), actor);
@@ -50,21 +55,18 @@ public class TaskService {
 
         List<Long> vocabIds = normalizeIds(req.vocabularyIds());
         if (!vocabIds.isEmpty()) {
-            replaceVocabularyInternal(actor, saved, vocabIds);
+            replaceVocabularyInternal(actorId, saved, vocabIds);
         }
 
         return toResponse(saved, vocabIds.isEmpty() ? List.of() : taskVocabularyRepository.findVocabularyIds(saved.getId()));
     }
 
     @Transactional(readOnly = true)
-    public TaskResponse get(String actorEmail, Long taskId) {
-        User actor = userRepository.findByEmail(actorEmail)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
-
+    public TaskResponse get(Long actorId, Long taskId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new TaskNotFoundException("Task not found"));
 
-        if (!task.getCreatedBy().getId().equals(actor.getId())) {
+        if (!task.getCreatedBy().getId().equals(actorId)) {
             throw new ForbiddenException("Not allowed");
         }
 
@@ -72,57 +74,54 @@ public class TaskService {
     }
 
     @Transactional(readOnly = true)
-    public Page<TaskResponse> searchMine(String actorEmail, String q, TaskType type, TaskStatus status, Pageable pageable) {
-        User actor = userRepository.findByEmail(actorEmail)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
-
-        return taskRepository.searchByOwner(actor.getId(), normalizeNullable(q), type, status, pageable)
+    public Page<TaskResponse> searchMine(Long actorId, String q, TaskType type, TaskStatus status, Pageable pageable) {
+        return taskRepository.searchByOwner(actorId, normalizeNullable(q), type, status, pageable)
                 .map(t -> toResponse(t, taskVocabularyRepository.findVocabularyIds(t.getId())));
     }
 
     @Transactional
-    public TaskResponse update(String actorEmail, Long taskId, UpdateTaskRequest req) {
-        User actor = userRepository.findByEmail(actorEmail)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
-
+    public TaskResponse update(Long actorId, Long taskId, UpdateTaskRequest req) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new TaskNotFoundException("Task not found"));
 
-        if (!task.getCreatedBy().getId().equals(actor.getId())) {
+        if (!task.getCreatedBy().getId().equals(actorId)) {
             throw new ForbiddenException("Not allowed");
         }
 
+        Map<String, Object> oldPayload = task.getPayload();
         task.update(req.title().trim(), req.status(), req.payload());
+        lessonBundleCache.invalidateForTask(taskId);
+        // why: the answer key depends only on the payload (and vocabulary); a title or status edit
+        // must not rescan every submitted answer.
+        if (!oldPayload.equals(task.getPayload())) {
+            answerGrader.regradeTask(taskId);
+        }
         return toResponse(task, taskVocabularyRepository.findVocabularyIds(taskId));
     }
 
     @Transactional
-    public TaskResponse replaceVocabulary(String actorEmail, Long taskId, ReplaceTaskVocabularyRequest req) {
-        User actor = userRepository.findByEmail(actorEmail)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
-
+    public TaskResponse replaceVocabulary(Long actorId, Long taskId, ReplaceTaskVocabularyRequest req) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new TaskNotFoundException("Task not found"));
 
-        if (!task.getCreatedBy().getId().equals(actor.getId())) {
+        if (!task.getCreatedBy().getId().equals(actorId)) {
             throw new ForbiddenException("Not allowed");
         }
 
         List<Long> vocabIds = normalizeIds(req.vocabularyIds());
-        replaceVocabularyInternal(actor, task, vocabIds);
+        replaceVocabularyInternal(actorId, task, vocabIds);
+        lessonBundleCache.invalidateForTask(taskId);
+        answerGrader.regradeTask(taskId);
 
         return toResponse(task, taskVocabularyRepository.findVocabularyIds(taskId));
     }
 
     @Transactional
-    public void delete(String actorEmail, Long taskId) {
-        User actor = userRepository.findByEmail(actorEmail)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
-
+    public void delete(Long actorId, Long taskId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new TaskNotFoundException("Task not found"));
 
-        if (!task.getCreatedBy().getId().equals(actor.getId())) {
+        if (!task.getCreatedBy().getId().equals(actorId)) {
             throw new ForbiddenException("Not allowed");
         }
 
@@ -136,7 +135,9 @@ public class TaskService {
         taskRepository.delete(task);
     }
 
-    private void replaceVocabularyInternal(User actor, Task task, List<Long> vocabIds) {
+    private void replaceVocabularyInternal(Long actorId, Task task, List<Long> vocabIds) {
+        Map<Long, Vocabulary> byId = new HashMap<>();
+
         // Why: we ensure user can only attach vocabulary from their own library.
         if (!vocabIds.isEmpty()) {
             List<Vocabulary> vocab = vocabularyRepository.findAllById(vocabIds);
@@ -144,20 +145,21 @@ public class TaskService {
                 throw new IllegalArgumentException("Some vocabularyIds do not exist");
             }
             for (Vocabulary v : vocab) {
-                if (!v.getCreatedBy().getId().equals(actor.getId())) {
+                if (!v.getCreatedBy().getId().equals(actorId)) {
                     throw new ForbiddenException("Cannot use vocabulary created by another user");
                 }
+                byId.put(v.getId(), v);
             }
         }
 
         taskVocabularyRepository.deleteByTaskId(task.getId());
 
+        List<TaskVocabulary> rows = new ArrayList<>(vocabIds.size());
         int pos = 0;
         for (Long vid : vocabIds) {
-            Vocabulary v = vocabularyRepository.findById(vid)
-                    .orElseThrow(() -> new IllegalArgumentException("Vocabulary not found: " + vid));
-            taskVocabularyRepository.save(new TaskVocabulary(task, v, pos++));
+            rows.add(new TaskVocabulary(task, byId.get(vid), pos++));
         }
+        taskVocabularyRepository.saveAll(rows);
     }
 
     private TaskResponse toResponse(Task t, List<Long> vocabIds) {
@@ -0,0 +1,192 @@
+package com.app.english.service;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+
+// One accepted spelling of a vocabulary term, precompiled for typo-tolerant comparison.
+// The folded pattern's character masks are built once, so classifying an input runs the
+// bit-parallel Levenshtein automaton (Myers / Hyyrö) in one pass over the input: O(n) word
+// operations for terms up to 64 chars, with a banded row-by-row fallback for longer ones.
+public final class TermMatcher {
+
+    public enum Match {
+        EXACT,             // same text after case / whitespace normalization
+        DIACRITICS_ONLY,   // differs only in accents, e.g. "zolw" for "żółw"
+        TYPO,              // within the allowed edit distance after folding
+        WRONG
+    }
+
+    private static final int WORD = 64;
+
+    private final String normalized;
+    private final String folded;
+    private final int maxDistance;
+
+    // Pattern masks: bit i set where folded.charAt(i) == c. ASCII in a table, the rest scanned.
+    private final long[] asciiMasks;
+    private final char[] otherChars;
+    private final long[] otherMasks;
+
+    private TermMatcher(String normalized, String folded, int maxDistance) {
+        this.normalized = normalized;
+        this.folded = folded;
+        this.maxDistance = maxDistance;
+
+        if (folded.length() <= WORD && maxDistance > 0) {
+            long[] ascii = new long[128];
+            StringBuilder others = new StringBuilder();
+            long[] otherBits = new long[folded.length()];
+            for (int i = 0; i < folded.length(); i++) {
+                char c = folded.charAt(i);
+                if (c < 128) {
+                    ascii[c] |= 1L << i;
+                    continue;
+                }
+                int j = others.indexOf(String.valueOf(c));
+                if (j < 0) {
+                    j = others.length();
+                    others.append(c);
+                }
+                otherBits[j] |= 1L << i;
+            }
+            this.asciiMasks = ascii;
+            this.otherChars = others.toString().toCharArray();
+            this.otherMasks = Arrays.copyOf(otherBits, otherChars.length);
+        } else {
+            this.asciiMasks = null;
+            this.otherChars = null;
+            this.otherMasks = null;
+        }
+    }
+
+    // maxDistance applies only to terms whose folded form has at least minLength chars;
+    // shorter terms ("go", "kot") must match exactly up to diacritics.
+    public static TermMatcher compile(String term, int maxDistance, int minLength) {
+        String normalized = normalize(term);
+        String folded = fold(normalized);
+        int distance = (folded.length() >= minLength) ? Math.max(0, maxDistance) : 0;
+        return new TermMatcher(normalized, folded, distance);
+    }
+
+    // Both forms of the input are computed once by the caller and shared across all variants.
+    public Match classify(String normalizedInput, String foldedInput) {
+        if (normalized.equals(normalizedInput)) return Match.EXACT;
+        if (folded.equals(foldedInput)) return Match.DIACRITICS_ONLY;
+        if (maxDistance == 0 || folded.isEmpty()) return Match.WRONG;
+        if (Math.abs(foldedInput.length() - folded.length()) > maxDistance) return Match.WRONG;
+
+        int d = (asciiMasks != null) ? bitParallelDistance(foldedInput) : bandedDistance(foldedInput);
+        return (d <= maxDistance) ? Match.TYPO : Match.WRONG;
+    }
+
+    // Hyyrö's edit-distance form of Myers' algorithm: column j of the DP matrix is kept as
+    // vertical +1/-1 delta bit vectors; the score tracks the last row. Returns maxDistance + 1
+    // as soon as the remaining input can no longer bring the distance back into range.
+    private int bitParallelDistance(String text) {
+        int m = folded.length();
+        long last = 1L << (m - 1);
+        long vp = (m == WORD) ? -1L : (1L << m) - 1;
+        long vn = 0L;
+        int score = m;
+
+        int n = text.length();
+        for (int j = 0; j < n; j++) {
+            long eq = mask(text.charAt(j));
+            long d0 = (((eq & vp) + vp) ^ vp) | eq | vn;
+            long hp = vn | ~(d0 | vp);
+            long hn = vp & d0;
+
+            if ((hp & last) != 0) score++;
+            else if ((hn & last) != 0) score--;
+
+            if (score - (n - 1 - j) > maxDistance) return maxDistance + 1;
+
+            long x = (hp << 1) | 1L;
+            vn = x & d0;
+            vp = (hn << 1) | ~(x | d0);
+        }
+        return score;
+    }
+
+    private long mask(char c) {
+        if (c < 128) return asciiMasks[c];
+        for (int i = 0; i < otherChars.length; i++) {
+            if (otherChars[i] == c) return otherMasks[i];
+        }
+        return 0L;
+    }
+
+    // Plain DP limited to the diagonal band |i - j| <= maxDistance, for terms over 64 chars.
+    private int bandedDistance(String text) {
+        int m = folded.length();
+        int n = text.length();
+        int k = maxDistance;
+        int inf = k + 1;
+
+        int[] prev = new int[n + 1];
+        int[] cur = new int[n + 1];
+        for (int j = 0; j <= n; j++) prev[j] = Math.min(j, inf);
+
+        for (int i = 1; i <= m; i++) {
+            int from = Math.max(1, i - k);
+            int to = Math.min(n, i + k);
+            cur[0] = Math.min(i, inf);
+            if (from > 1) cur[from - 1] = inf;
+
+            int rowMin = cur[0];
+            char pc = folded.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int cost = (pc == text.charAt(j - 1)) ? 0 : 1;
+                int v = Math.min(Math.min(prev[j] + 1, cur[j - 1] + 1), prev[j - 1] + cost);
+                cur[j] = Math.min(v, inf);
+                rowMin = Math.min(rowMin, cur[j]);
+            }
+            if (to < n) cur[to + 1] = inf;
+            if (rowMin > k) return inf;
+
+            int[] t = prev;
+            prev = cur;
+            cur = t;
+        }
+        return prev[n];
+    }
+
+    // Case-insensitive, trimmed, inner whitespace collapsed to single spaces.
+    public static String normalize(String s) {
+        if (s == null) return "";
+        StringBuilder sb = new StringBuilder(s.length());
+        boolean space = false;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = sb.length() > 0;
+                continue;
+            }
+            if (space) {
+                sb.append(' ');
+                space = false;
+            }
+            sb.append(Character.toLowerCase(c));
+        }
+        return sb.toString();
+    }
+
+    // Strips accents from normalized text: "żółw" -> "zolw", "café" -> "cafe".
+    public static String fold(String normalized) {
+        boolean ascii = true;
+        for (int i = 0; i < normalized.length() && ascii; i++) {
+            ascii = normalized.charAt(i) < 128;
+        }
+        if (ascii) return normalized;
+
+        String decomposed = Normalizer.normalize(normalized, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) continue;
+            // why: 'ł' has no canonical decomposition, so NFD leaves it alone.
+            sb.append(c == 'ł' ? 'l' : c);
+        }
+        return sb.toString();
+    }
+}
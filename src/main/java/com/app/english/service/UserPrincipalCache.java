@@ -0,0 +1,65 @@
+package com.app.english.service;
+
+import com.app.english.config.PrincipalCacheProperties;
+import com.app.english.models.Role;
+import com.app.english.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+// Bounded cache of "does this JWT subject still exist" lookups, so authenticated requests
+// don't hit the users table before reaching the controller.
+@Component
+public class UserPrincipalCache {
+
+    public record CachedPrincipal(Long id, String email, Role role) {}
+
+    private final UserRepository userRepository;
+    private final Cache<String, CachedPrincipal> cache;
+
+    public UserPrincipalCache(
+            UserRepository userRepository,
+            PrincipalCacheProperties props,
+            MeterRegistry meterRegistry
+    ) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(props.maxSize())
+                .expireAfterWrite(props.ttl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.principals");
+    }
+
+    public Optional<CachedPrincipal> resolve(String email) {
+        // why: a null from the loader is not stored, so unknown subjects are re-checked every time.
+        return Optional.ofNullable(cache.get(email, this::load));
+    }
+
+    public void evict(String email) {
+        cache.invalidate(email);
+
+        // why: a concurrent request could re-load the old row before our transaction commits.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(email);
+                }
+            });
+        }
+    }
+
+    private CachedPrincipal load(String email) {
+        return userRepository.findByEmail(email)
+                .map(u -> new CachedPrincipal(u.getId(), u.getEmail(), u.getRole()))
+                .orElse(null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.app.english.service;
+
+import com.app.english.models.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+// JPA entity listener (Spring-managed via Hibernate's bean container): any role change or
+// deletion of a user drops the cached principal instead of waiting for the TTL.
+@Component
+public class UserPrincipalEvictionListener {
+
+    private final UserPrincipalCache principalCache;
+
+    public UserPrincipalEvictionListener(UserPrincipalCache principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    void evict(User user) {
+        principalCache.evict(user.getEmail());
+    }
+}
@@ -4,7 +4,6 @@ import com.app.english.exceptions.EmailAlreadyExistsException;
 import com.app.english.models.Role;
 import com.app.english.models.User;
 import com.app.english.repository.UserRepository;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,14 +11,14 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtService jwtService;
 
     public UserService(UserRepository userRepository,
-                       PasswordEncoder passwordEncoder,
+                       PasswordHashingService passwordHashingService,
                        JwtService jwtService) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.jwtService = jwtService;
     }
 
@@ -29,7 +28,7 @@ public class UserService {
             throw new EmailAlreadyExistsException("Email already exists");
         }
 
-        String hash = passwordEncoder.encode(password);
+        String hash = passwordHashingService.encode(password);
 
         User user = new User(
                 email,
@@ -39,7 +38,7 @@ public class UserService {
 
         userRepository.save(user);
 
-        return jwtService.generateAccessToken(user.getEmail(), user.getRole());
+        return jwtService.generateAccessToken(user.getId(), user.getEmail(), user.getRole());
     }
 
     @Transactional(readOnly = true)
@@ -47,11 +46,11 @@ public class UserService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid credentials"));
 
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+        if (!passwordHashingService.matches(password, user.getPasswordHash())) {
             throw new IllegalArgumentException("Invalid credentials");
         }
 
-        return jwtService.generateAccessToken(user.getEmail(), user.getRole());
+        return jwtService.generateAccessToken(user.getId(), user.getEmail(), user.getRole());
     }
 }
 
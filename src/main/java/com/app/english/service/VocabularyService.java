@@ -19,16 +19,24 @@ public class VocabularyService {
 
     private final VocabularyRepository vocabularyRepository;
     private final UserRepository userRepository;
-
-    public VocabularyService(VocabularyRepository vocabularyRepository, UserRepository userRepository) {
+    private final LessonBundleCache lessonBundleCache;
+    private final AnswerGrader answerGrader;
+
+    public VocabularyService(
+            VocabularyRepository vocabularyRepository,
+            UserRepository userRepository,
+            LessonBundleCache lessonBundleCache,
+            AnswerGrader answerGrader
+    ) {
         this.vocabularyRepository = vocabularyRepository;
         this.userRepository = userRepository;
+        this.lessonBundleCache = lessonBundleCache;
+        this.answerGrader = answerGrader;
     }
 
     @Transactional
-    public VocabularyResponse create(String actorEmail, CreateVocabularyRequest req) {
-        User actor = userRepository.findByEmail(actorEmail)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
+    public VocabularyResponse create(Long actorId, CreateVocabularyRequest req) {
+        User actor = userRepository.getReferenceById(actorId);
 
         Vocabulary v = new Vocabulary(
                 req.termEn().trim(),
@@ -45,14 +53,11 @@ public class VocabularyService {
     }
 
     @Transactional(readOnly = true)
-    public VocabularyResponse get(String actorEmail, Long id) {
-        User actor = userRepository.findByEmail(actorEmail)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
-
+    public VocabularyResponse get(Long actorId, Long id) {
         Vocabulary v = vocabularyRepository.findById(id)
                 .orElseThrow(() -> new VocabularyNotFoundException("Vocabulary not found"));
 
-        if (!v.getCreatedBy().getId().equals(actor.getId())) {
+        if (!v.getCreatedBy().getId().equals(actorId)) {
             throw new ForbiddenException("Not allowed");
         }
 
@@ -60,23 +65,17 @@ public class VocabularyService {
     }
 
     @Transactional(readOnly = true)
-    public Page<VocabularyResponse> searchMine(String actorEmail, String q, Pageable pageable) {
-        User actor = userRepository.findByEmail(actorEmail)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
-
-        return vocabularyRepository.searchByOwner(actor.getId(), normalizeNullable(q), pageable)
+    public Page<VocabularyResponse> searchMine(Long actorId, String q, Pageable pageable) {
+        return vocabularyRepository.searchByOwner(actorId, normalizeNullable(q), pageable)
                 .map(this::toResponse);
     }
 
     @Transactional
-    public VocabularyResponse update(String actorEmail, Long id, UpdateVocabularyRequest req) {
-        User actor = userRepository.findByEmail(actorEmail)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
-
+    public VocabularyResponse update(Long actorId, Long id, UpdateVocabularyRequest req) {
         Vocabulary v = vocabularyRepository.findById(id)
                 .orElseThrow(() -> new VocabularyNotFoundException("Vocabulary not found"));
 
-        if (!v.getCreatedBy().getId().equals(actor.getId())) {
+        if (!v.getCreatedBy().getId().equals(actorId)) {
             throw new ForbiddenException("Not allowed");
         }
 
@@ -88,22 +87,22 @@ public class VocabularyService {
                 req.imageMediaId(),
                 req.audioMediaId()
         );
+        lessonBundleCache.invalidateForVocabulary(id);
+        answerGrader.regradeForVocabulary(id);
 
         return toResponse(v);
     }
 
     @Transactional
-    public void delete(String actorEmail, Long id) {
-        User actor = userRepository.findByEmail(actorEmail)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
-
+    public void delete(Long actorId, Long id) {
         Vocabulary v = vocabularyRepository.findById(id)
                 .orElseThrow(() -> new VocabularyNotFoundException("Vocabulary not found"));
 
-        if (!v.getCreatedBy().getId().equals(actor.getId())) {
+        if (!v.getCreatedBy().getId().equals(actorId)) {
             throw new ForbiddenException("Not allowed");
         }
 
+        lessonBundleCache.invalidateForVocabulary(id);
         vocabularyRepository.delete(v);
     }
 
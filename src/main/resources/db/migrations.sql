@@ -0,0 +1,53 @@
+-- Runs on every startup after Hibernate's schema update (see spring.sql.init.* in application.properties).
+-- Every statement must be idempotent.
+
+-- Entities moved from IDENTITY to pooled sequences: move each sequence past the existing ids.
+-- greatest(...) never moves a sequence backwards, so blocks already handed out stay unique.
+select setval('lesson_items_seq', greatest((select last_value from lesson_items_seq), (select coalesce(max(id), 0) from lesson_items) + 50));
+select setval('task_vocabulary_seq', greatest((select last_value from task_vocabulary_seq), (select coalesce(max(id), 0) from task_vocabulary) + 50));
+select setval('lesson_assignments_seq', greatest((select last_value from lesson_assignments_seq), (select coalesce(max(id), 0) from lesson_assignments) + 50));
+select setval('lesson_task_progress_seq', greatest((select last_value from lesson_task_progress_seq), (select coalesce(max(id), 0) from lesson_task_progress) + 50));
+select setval('lesson_task_answers_seq', greatest((select last_value from lesson_task_answers_seq), (select coalesce(max(id), 0) from lesson_task_answers) + 50));
+
+-- Assignment feed indexes were replaced by idx_lesson_assign_group_feed / idx_lesson_assign_user_feed.
+drop index if exists idx_lesson_assign_group;
+drop index if exists idx_lesson_assign_user;
+-- ...and those by idx_lesson_assign_group_keyset / idx_lesson_assign_user_keyset (row-value keyset).
+-- ddl-auto=update never alters an index that already exists, hence the new names.
+drop index if exists idx_lesson_assign_group_feed;
+drop index if exists idx_lesson_assign_user_feed;
+
+-- lesson_progress.completed_count / total_count: fill rows written before the counters existed.
+update lesson_progress p
+   set total_count = (
+           select count(distinct li.task_id)
+             from lesson_items li
+             join lesson_assignments a on a.lesson_id = li.lesson_id
+            where a.id = p.assignment_id and li.task_id is not null
+       ),
+       completed_count = (
+           select count(distinct ltp.task_id)
+             from lesson_task_progress ltp
+             join lesson_assignments a on a.id = p.assignment_id
+             join lesson_items li on li.lesson_id = a.lesson_id and li.task_id = ltp.task_id
+            where ltp.progress_id = p.id and ltp.completed = true
+       )
+ where p.completed_count is null or p.total_count is null;
+
+-- lesson_progress.completed_bits: carry completions over from lesson_task_progress rows. Bit i is
+-- the lesson item at index i in position order. Only rows with legacy completions and no bits yet
+-- are touched, so re-running is a no-op.
+update lesson_progress p
+   set completed_bits = (
+           select cast(string_agg(
+                      case when exists (
+                               select 1 from lesson_task_progress ltp
+                                where ltp.progress_id = p.id and ltp.task_id = li.task_id and ltp.completed = true
+                           ) then '1' else '0' end,
+                      '' order by li.position) as varbit)
+             from lesson_items li
+             join lesson_assignments a on a.lesson_id = li.lesson_id
+            where a.id = p.assignment_id and li.task_id is not null
+       )
+ where p.completed_bits is null
+   and exists (select 1 from lesson_task_progress ltp where ltp.progress_id = p.id and ltp.completed = true);
@@ -0,0 +1,40 @@
+package com.app.english.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Accept-Encoding negotiation for the bundle endpoint.
+class LessonBundleControllerTest {
+
+    @Test
+    void acceptsGzipWhenListedWithPositiveQuality() {
+        assertTrue(LessonBundleController.acceptsGzip("gzip"));
+        assertTrue(LessonBundleController.acceptsGzip("deflate, GZIP;q=0.5, br"));
+        assertTrue(LessonBundleController.acceptsGzip("x-gzip"));
+        assertTrue(LessonBundleController.acceptsGzip("gzip; q=0.001"));
+    }
+
+    @Test
+    void honoursAnExplicitRefusal() {
+        assertFalse(LessonBundleController.acceptsGzip("gzip;q=0"));
+        assertFalse(LessonBundleController.acceptsGzip("gzip;q=0.0, br"));
+        assertFalse(LessonBundleController.acceptsGzip("*, gzip;q=0"));
+    }
+
+    @Test
+    void wildcardCoversGzipOnlyWhenGzipIsNotListed() {
+        assertTrue(LessonBundleController.acceptsGzip("br, *"));
+        assertFalse(LessonBundleController.acceptsGzip("*;q=0"));
+        assertTrue(LessonBundleController.acceptsGzip("*;q=0, gzip"));
+    }
+
+    @Test
+    void missingOrUnrelatedHeaderMeansIdentity() {
+        assertFalse(LessonBundleController.acceptsGzip(null));
+        assertFalse(LessonBundleController.acceptsGzip(""));
+        assertFalse(LessonBundleController.acceptsGzip("br, deflate"));
+        assertFalse(LessonBundleController.acceptsGzip("gzip;q=abc"));
+    }
+}
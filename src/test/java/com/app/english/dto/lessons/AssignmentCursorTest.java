@@ -0,0 +1,43 @@
+package com.app.english.dto.lessons;
+
+import com.app.english.models.LessonStatus;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AssignmentCursorTest {
+
+    @Test
+    void roundTripsThePositionOfTheLastRow() {
+        LessonAssignmentResponse last = new LessonAssignmentResponse(
+                77L, 5L, 9L, "Lesson", LessonStatus.PUBLISHED, null, -123_456_789L, null, null, Instant.now());
+
+        AssignmentCursor cursor = AssignmentCursor.decode(AssignmentCursor.after(last).encode());
+
+        assertEquals(new AssignmentCursor(5L, -123_456_789L, 77L), cursor);
+    }
+
+    @Test
+    void encodesUrlSafeWithoutPadding() {
+        String encoded = new AssignmentCursor(Long.MAX_VALUE, Long.MIN_VALUE, 1L).encode();
+
+        assertEquals(encoded, encoded.replaceAll("[^A-Za-z0-9_-]", ""));
+    }
+
+    @Test
+    void rejectsTamperedCursorsAsInvalid() {
+        for (String bad : new String[]{"not base64!", raw("1:2"), raw("1:2:3:4"), raw("1:x:3"), raw("1:2:99999999999999999999")}) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> AssignmentCursor.decode(bad));
+            assertEquals("Invalid cursor", e.getMessage());
+        }
+    }
+
+    private static String raw(String s) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(s.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,99 @@
+package com.app.english.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StripedTokenBucketLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    // capacity 2, one token per second, one stripe of at most 16 slots (8 keys at load 0.5)
+    private final StripedTokenBucketLimiter limiter = new StripedTokenBucketLimiter(2, 1, 1, 16);
+    private final long base = System.nanoTime();
+
+    @Test
+    void allowsABurstUpToCapacityThenReportsTheWait() {
+        long key = StripedTokenBucketLimiter.hash("10.0.0.1");
+
+        assertEquals(0, limiter.tryAcquire(key, base));
+        assertEquals(0, limiter.tryAcquire(key, base));
+
+        long wait = limiter.tryAcquire(key, base);
+        assertTrue(wait > 0 && wait <= SECOND, "wait was " + wait);
+    }
+
+    @Test
+    void refillsWithElapsedTime() {
+        long key = StripedTokenBucketLimiter.hash("10.0.0.1");
+        limiter.tryAcquire(key, base);
+        limiter.tryAcquire(key, base);
+
+        assertTrue(limiter.tryAcquire(key, base + SECOND / 2) > 0);
+        assertEquals(0, limiter.tryAcquire(key, base + SECOND));
+    }
+
+    @Test
+    void keysHaveIndependentBuckets() {
+        long a = StripedTokenBucketLimiter.hash("10.0.0.1");
+        long b = StripedTokenBucketLimiter.hash("10.0.0.2");
+        limiter.tryAcquire(a, base);
+        limiter.tryAcquire(a, base);
+
+        assertTrue(limiter.tryAcquire(a, base) > 0);
+        assertEquals(0, limiter.tryAcquire(b, base));
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    void newKeysShareTheOverflowBucketOnceTheStripeIsFull() {
+        for (int i = 0; i < 8; i++) {
+            assertEquals(0, limiter.tryAcquire(key(i), base));
+        }
+        assertEquals(8, limiter.size());
+
+        // the overflow bucket starts full (2 tokens) and is shared by every key that doesn't fit
+        assertEquals(0, limiter.tryAcquire(key(100), base));
+        assertEquals(0, limiter.tryAcquire(key(101), base));
+        assertTrue(limiter.tryAcquire(key(102), base) > 0);
+        assertEquals(8, limiter.size());
+    }
+
+    @Test
+    void compactsAFullStripeOnlyOncePerHalfTableOfInserts() {
+        for (int i = 0; i < 8; i++) {
+            limiter.tryAcquire(key(i), base);
+        }
+        long later = base + 10 * SECOND; // every bucket is idle (full again) by now
+
+        // 7 attempts stay on the overflow bucket without rebuilding the table...
+        for (int i = 0; i < 7; i++) {
+            limiter.tryAcquire(key(100 + i), later);
+            assertEquals(8, limiter.size());
+        }
+        // ...the 8th compacts away the idle buckets and gets its own slot
+        limiter.tryAcquire(key(107), later);
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void evictIdleDropsBucketsThatHaveRefilled() {
+        limiter.tryAcquire(key(1), base - 10 * SECOND);
+        limiter.tryAcquire(key(2), System.nanoTime() + SECOND);
+
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void hashNeverReturnsTheEmptyMarker() {
+        assertNotEquals(0L, StripedTokenBucketLimiter.hash(""));
+        assertNotEquals(StripedTokenBucketLimiter.hash("a"), StripedTokenBucketLimiter.hash("b"));
+    }
+
+    private static long key(int i) {
+        return StripedTokenBucketLimiter.hash("key-" + i);
+    }
+}
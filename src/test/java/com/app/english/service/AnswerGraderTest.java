@@ -0,0 +1,94 @@
+package com.app.english.service;
+
+import com.app.english.config.GradingProperties;
+import com.app.english.models.Task;
+import com.app.english.models.TaskStatus;
+import com.app.english.models.TaskType;
+import com.app.english.models.TaskVocabulary;
+import com.app.english.models.Vocabulary;
+import com.app.english.service.AnswerGrader.Grade;
+import com.app.english.service.AnswerKeyCache.AnswerKey;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// AnswerGrader.score against keys compiled from in-memory tasks; no database involved.
+class AnswerGraderTest {
+
+    private final AnswerGrader grader = new AnswerGrader(
+            null, null, null, new ObjectMapper(), new GradingProperties(100, 1, 100, 1, 4), new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        grader.shutdown();
+    }
+
+    @Test
+    void typingAcceptsAccentAndTypoNearMissesAndReportsThem() {
+        AnswerKey key = key(TaskType.VOCAB_TYPING, Map.of());
+
+        Grade grade = grader.score(key, "{\"10\":\"kot\",\"20\":\"zolw\",\"30\":\"budynek\",\"99\":\"ignored\"}");
+        assertEquals(new Grade(3, 3, "{\"20\":\"DIACRITICS_ONLY\"}"), grade);
+
+        assertEquals(new Grade(1, 3, "{\"20\":\"TYPO\"}"), grader.score(key, "{\"20\":\"żółwi\",\"10\":\"pies\"}"));
+    }
+
+    @Test
+    void typingDoesNotAcceptChosenIds() {
+        assertEquals(new Grade(0, 3, null), grader.score(key(TaskType.VOCAB_TYPING, Map.of()), "{\"10\":10}"));
+    }
+
+    @Test
+    void answersInEnglishWhenDirectionIsPlToEn() {
+        AnswerKey key = key(TaskType.VOCAB_TYPING, Map.of("direction", "PL -> EN"));
+
+        assertEquals(new Grade(2, 3, null), grader.score(key, "{\"10\":\"cat\",\"20\":\"turtle\",\"30\":\"dom\"}"));
+    }
+
+    @Test
+    void choiceTasksScoreIdsAndExactTextOnly() {
+        AnswerKey key = key(TaskType.VOCAB_MCQ, Map.of());
+
+        assertEquals(new Grade(2, 3, null), grader.score(key, "{\"10\":10,\"20\":\"żółw\",\"30\":10}"));
+        assertEquals(new Grade(0, 3, null), grader.score(key, "{\"20\":\"zolw\"}"));
+    }
+
+    @Test
+    void eachItemCountsOnce() {
+        assertEquals(new Grade(1, 3, null), grader.score(key(TaskType.VOCAB_TYPING, Map.of()), "{\"10\":\"kot\",\"10\":\"kot\"}"));
+    }
+
+    @Test
+    void unreadableAnswersScoreWhatWasReadSoFar() {
+        AnswerKey key = key(TaskType.VOCAB_TYPING, Map.of());
+
+        assertEquals(new Grade(0, 3, null), grader.score(key, null));
+        assertEquals(new Grade(0, 3, null), grader.score(key, "[\"kot\"]"));
+        assertEquals(new Grade(1, 3, null), grader.score(key, "{\"10\":\"kot\",\"20\":"));
+    }
+
+    // cat/kot (10), turtle/żółw (20), house/dom;budynek (30)
+    private static AnswerKey key(TaskType type, Map<String, Object> payload) {
+        Task task = new Task("task", type, TaskStatus.DRAFT, payload, null);
+        ReflectionTestUtils.setField(task, "id", 1L);
+        List<TaskVocabulary> rows = List.of(
+                row(task, 30L, "house", "dom/budynek", 0),
+                row(task, 10L, "cat", "kot", 1),
+                row(task, 20L, "turtle", "żółw", 2)
+        );
+        return AnswerKey.compile(task, rows, 1L, 1, 4);
+    }
+
+    private static TaskVocabulary row(Task task, long id, String termEn, String termPl, int position) {
+        Vocabulary v = new Vocabulary(termEn, termPl, null, null, null, null, null);
+        ReflectionTestUtils.setField(v, "id", id);
+        return new TaskVocabulary(task, v, position);
+    }
+}
@@ -0,0 +1,42 @@
+package com.app.english.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AnswerJsonReaderTest {
+
+    private final AnswerJsonReader reader = new AnswerJsonReader(new ObjectMapper());
+
+    @Test
+    void slicesTheAnswerExactlyAsSent() {
+        assertEquals("\"żółw\"", read("{\"answer\": \"żółw\"}"));
+        assertEquals("{ \"a\" : [1, 2.50, true] }", read("{\"other\": 1, \"answer\": { \"a\" : [1, 2.50, true] }}"));
+        assertEquals("[\"x\",{\"y\":null}]", read("{\"answer\":[\"x\",{\"y\":null}],\"tail\":{}}"));
+        assertEquals("1e3", read("{\"answer\":1e3}"));
+        assertEquals("\"a\\\"b\\u00e9\"", read("{\"answer\":\"a\\\"b\\u00e9\"}"));
+    }
+
+    @Test
+    void missingOrNullAnswerIsNull() {
+        assertNull(read("{}"));
+        assertNull(read("{\"answer\": null}"));
+        assertNull(read("{\"other\": {\"answer\": 1}}"));
+    }
+
+    @Test
+    void rejectsBodiesThatAreNotOneJsonObject() {
+        for (String bad : new String[]{"", "[]", "\"answer\"", "{\"answer\": 1", "{\"answer\": 1} {}", "{\"answer\": tru}"}) {
+            assertThrows(IllegalArgumentException.class, () -> read(bad));
+        }
+    }
+
+    private String read(String body) {
+        return reader.readAnswer(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
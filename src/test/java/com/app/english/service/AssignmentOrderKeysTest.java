@@ -0,0 +1,63 @@
+package com.app.english.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AssignmentOrderKeysTest {
+
+    @Test
+    void betweenTakesTheMidpoint() {
+        assertEquals(Long.valueOf(15L), AssignmentOrderKeys.between(10L, 20L));
+        assertEquals(Long.valueOf(-7L), AssignmentOrderKeys.between(-10L, -4L));
+    }
+
+    @Test
+    void betweenIsNullWhenNeighboursAreAdjacent() {
+        assertNull(AssignmentOrderKeys.between(7L, 8L));
+        assertNull(AssignmentOrderKeys.between(7L, 7L));
+    }
+
+    @Test
+    void betweenDoesNotOverflowAtTheExtremes() {
+        long mid = AssignmentOrderKeys.between(Long.MIN_VALUE, Long.MAX_VALUE);
+        assertTrue(mid > Long.MIN_VALUE && mid < Long.MAX_VALUE);
+        assertNull(AssignmentOrderKeys.between(Long.MAX_VALUE - 1, Long.MAX_VALUE));
+    }
+
+    @Test
+    void betweenAtAListEdgeStepsOneGapOutward() {
+        assertEquals(Long.valueOf(100L - AssignmentOrderKeys.GAP), AssignmentOrderKeys.between(null, 100L));
+        assertEquals(Long.valueOf(100L + AssignmentOrderKeys.GAP), AssignmentOrderKeys.between(100L, null));
+        assertNull(AssignmentOrderKeys.between(null, Long.MIN_VALUE + 1));
+        assertNull(AssignmentOrderKeys.between(Long.MAX_VALUE - 1, null));
+        assertThrows(IllegalArgumentException.class, () -> AssignmentOrderKeys.between(null, null));
+    }
+
+    @Test
+    void newTopKeysAreAscendingSpacedAndAboveTheCurrentTop() {
+        long currentTop = AssignmentOrderKeys.newTopKeys(1, null)[0];
+        for (int n : new int[]{1, 2, 50, 1000}) {
+            long[] keys = AssignmentOrderKeys.newTopKeys(n, currentTop);
+
+            assertEquals(n, keys.length);
+            assertTrue(keys[n - 1] < currentTop, "new keys must sort above the current top");
+            for (int i = 1; i < n; i++) {
+                assertTrue(keys[i] - keys[i - 1] >= AssignmentOrderKeys.MIN_GAP, "keys must leave room for moves");
+            }
+        }
+    }
+
+    @Test
+    void newTopKeysGoJustAboveATopFromTheFuture() {
+        // a top key written by a node whose clock ran ahead is still respected
+        long farTop = Long.MIN_VALUE / 2;
+        long[] keys = AssignmentOrderKeys.newTopKeys(3, farTop);
+
+        assertEquals(farTop - 3 * AssignmentOrderKeys.MIN_GAP, keys[0]);
+        assertEquals(farTop - AssignmentOrderKeys.MIN_GAP, keys[2]);
+    }
+}
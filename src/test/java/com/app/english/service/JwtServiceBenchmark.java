@@ -0,0 +1,82 @@
+package com.app.english.service;
+
+import com.app.english.config.JwtProperties;
+import com.app.english.models.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of access token checks in JwtAuthFilter.
+// legacyTripleParse: the old path (isTokenValid, extractEmail, extractRole), each building a
+// parser and verifying the signature again. verifyUncached: JwtService.verify with the
+// verified-claims cache disabled, i.e. one parse on the shared parser. verifyCached: the hit path.
+// Run: ./mvnw test-compile, then main() from the IDE (or org.openjdk.jmh.Main on the test classpath).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "bXktYmVuY2htYXJrLXNlY3JldC10aGF0LWlzLWxvbmctZW5vdWdoLTEyMzQ1Ng==";
+
+    private Key key;
+    private JwtService cached;
+    private JwtService uncached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        cached = new JwtService(new JwtProperties(SECRET, 3_600_000L, 60_000L, 10_000L));
+        // a zero TTL expires every entry on creation, so each call verifies the signature
+        uncached = new JwtService(new JwtProperties(SECRET, 3_600_000L, 0L, 10_000L));
+        token = cached.generateAccessToken(42L, "student@example.com", Role.USER);
+    }
+
+    @Benchmark
+    public void legacyTripleParse(Blackhole bh) {
+        bh.consume(legacyClaims(token) != null);
+        bh.consume(legacyClaims(token).getSubject());
+        bh.consume(legacyClaims(token).get("role", String.class));
+    }
+
+    @Benchmark
+    public Object verifyUncached() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public Object verifyCached() {
+        return cached.verify(token);
+    }
+
+    private Claims legacyClaims(String token) {
+        return Jwts.parserBuilder().setSigningKey(key).build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
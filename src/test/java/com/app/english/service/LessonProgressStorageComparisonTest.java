@@ -0,0 +1,80 @@
+package com.app.english.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Storage and read-IO comparison of the two completion layouts on a realistic dataset
+// (5,000 progress rows x 30 tasks, ~60% done). Legacy: one lesson_task_progress row per task,
+// same columns and indexes. Now: one varbit per lesson_progress row. Runs against temp tables,
+// so real data is untouched; prints the numbers.
+// Needs the same PostgreSQL database as EnglishApplicationTests; everything rolls back.
+@SpringBootTest
+@Transactional
+class LessonProgressStorageComparisonTest {
+
+    private static final int PROGRESS_ROWS = 5_000;
+    private static final int TASKS = 30;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void bitsetTakesAFractionOfTheRowPerTaskLayout() throws Exception {
+        jdbc.execute("""
+            create temp table cmp_ltp (
+                id bigint primary key,
+                progress_id bigint not null,
+                task_id bigint not null,
+                completed boolean not null,
+                completed_at timestamp(6) with time zone,
+                unique (progress_id, task_id)
+            ) on commit drop
+        """);
+        jdbc.execute("create index on cmp_ltp (task_id)");
+        jdbc.execute("create temp table cmp_bits (id bigint primary key, completed_bits varbit) on commit drop");
+
+        jdbc.update("""
+            insert into cmp_ltp
+            select p * 100 + t, p, t, done, case when done then now() end
+              from (select p, t, abs(hashint4(p * 100 + t) % 10) < 6 as done
+                      from generate_series(1, ?) p, generate_series(1, ?) t) s
+        """, PROGRESS_ROWS, TASKS);
+        jdbc.update("""
+            insert into cmp_bits
+            select progress_id, cast(string_agg(case when completed then '1' else '0' end, '' order by task_id) as varbit)
+              from cmp_ltp
+             group by progress_id
+        """);
+        jdbc.execute("analyze cmp_ltp");
+        jdbc.execute("analyze cmp_bits");
+
+        long legacyBytes = jdbc.queryForObject("select pg_total_relation_size('cmp_ltp')", Long.class);
+        long bitsBytes = jdbc.queryForObject("select pg_total_relation_size('cmp_bits')", Long.class);
+
+        // what one progress read touches: the legacy ids of done tasks vs the single bit string
+        long legacyBuffers = buffers("select task_id from cmp_ltp where progress_id = 2500 and completed");
+        long bitsBuffers = buffers("select completed_bits from cmp_bits where id = 2500");
+
+        System.out.printf("completions, %d x %d: legacy %d kB (%d buffers/read), bitset %d kB (%d buffers/read)%n",
+                PROGRESS_ROWS, TASKS, legacyBytes / 1024, legacyBuffers, bitsBytes / 1024, bitsBuffers);
+
+        assertTrue(bitsBytes * 5 < legacyBytes, "bitset layout should be several times smaller");
+        assertTrue(bitsBuffers <= legacyBuffers, "bitset read should not touch more buffers");
+    }
+
+    private long buffers(String sql) throws Exception {
+        String json = jdbc.queryForObject("explain (analyze, buffers, format json) " + sql, String.class);
+        JsonNode plan = objectMapper.readTree(json).get(0).get("Plan");
+        return plan.get("Shared Hit Blocks").asLong() + plan.get("Shared Read Blocks").asLong()
+                + plan.get("Local Hit Blocks").asLong() + plan.get("Local Read Blocks").asLong();
+    }
+}
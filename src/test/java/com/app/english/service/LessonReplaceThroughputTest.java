@@ -0,0 +1,89 @@
+package com.app.english.service;
+
+import com.app.english.dto.lessons.ReplaceLessonItemsRequest;
+import com.app.english.models.*;
+import com.app.english.repository.LessonRepository;
+import com.app.english.repository.TaskRepository;
+import com.app.english.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Rows per second for a 200-item lesson replace, and a guard that its inserts stay batched
+// (pooled sequence ids + hibernate.jdbc.batch_size). Prints the measured rate.
+// Needs the same PostgreSQL database as EnglishApplicationTests; everything rolls back.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class LessonReplaceThroughputTest {
+
+    private static final int ITEMS = 200;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 10;
+
+    @Autowired
+    private LessonService lessonService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private LessonRepository lessonRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void replacingTwoHundredItemsIsBatched() {
+        User owner = userRepository.save(new User("replace-" + UUID.randomUUID() + "@test.local", "x", Role.USER));
+        List<Long> taskIds = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            taskIds.add(taskRepository.save(new Task("task " + i, TaskType.ESSAY, TaskStatus.DRAFT, Map.of(), owner)).getId());
+        }
+        Lesson lesson = lessonRepository.save(new Lesson("replace", null, LessonStatus.DRAFT, owner));
+        entityManager.flush();
+        entityManager.clear();
+
+        Random random = new Random(9);
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            replace(owner, lesson, taskIds, random);
+        }
+
+        Statistics stats = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            replace(owner, lesson, taskIds, random);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        double rowsPerSecond = (double) ITEMS * MEASURED_RUNS / (elapsedNanos / 1_000_000_000.0);
+        System.out.printf("lesson replace: %d items x %d runs, %.0f rows/s, %d statements per run%n",
+                ITEMS, MEASURED_RUNS, rowsPerSecond, stats.getPrepareStatementCount() / MEASURED_RUNS);
+
+        assertEquals((long) ITEMS * MEASURED_RUNS, stats.getEntityInsertCount());
+        // one statement per insert would be >= 200 per run; batches of 50 plus the reads stay far below
+        assertTrue(stats.getPrepareStatementCount() / MEASURED_RUNS < ITEMS / 4,
+                "inserts are not batched: " + stats.getPrepareStatementCount() / MEASURED_RUNS + " statements per run");
+    }
+
+    private void replace(User owner, Lesson lesson, List<Long> taskIds, Random random) {
+        List<Long> order = new ArrayList<>(taskIds);
+        Collections.shuffle(order, random);
+        lessonService.replaceItems(owner.getId(), lesson.getId(), new ReplaceLessonItemsRequest(order));
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,67 @@
+package com.app.english.service;
+
+import com.app.english.models.*;
+import com.app.english.repository.LessonItemRepository;
+import com.app.english.repository.LessonRepository;
+import com.app.english.repository.TaskRepository;
+import com.app.english.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Needs the same PostgreSQL database as EnglishApplicationTests; everything rolls back.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class LessonServiceQueryCountTest {
+
+    @Autowired
+    private LessonService lessonService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private LessonRepository lessonRepository;
+    @Autowired
+    private LessonItemRepository lessonItemRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void listMineRunsTheSameNumberOfStatementsForAnyPageSize() {
+        long oneLesson = statementsForListMine(1);
+        long manyLessons = statementsForListMine(25);
+
+        assertEquals(oneLesson, manyLessons, "listMine statements must not grow with the number of lessons");
+    }
+
+    // Lessons of a fresh user, 3 items each; returns statements prepared by one listMine call.
+    private long statementsForListMine(int lessons) {
+        User owner = userRepository.save(new User("query-count-" + UUID.randomUUID() + "@test.local", "x", Role.USER));
+        Task task = taskRepository.save(new Task("task", TaskType.ESSAY, TaskStatus.DRAFT, Map.of(), owner));
+        for (int i = 0; i < lessons; i++) {
+            Lesson lesson = lessonRepository.save(new Lesson("lesson " + i, null, LessonStatus.DRAFT, owner));
+            for (int position = 0; position < 3; position++) {
+                lessonItemRepository.save(LessonItem.taskItem(lesson, task, position));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics stats = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        var page = lessonService.listMine(owner.getId(), PageRequest.of(0, 50), false, null);
+        assertEquals(lessons, page.getNumberOfElements());
+        return stats.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,94 @@
+package com.app.english.service;
+
+import com.app.english.config.PasswordHashingProperties;
+import com.app.english.exceptions.ServiceBusyException;
+import com.app.english.security.CalibratedBcryptEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Login-path load test: a burst of sign-ins far above pool + queue capacity. Accepted hashes
+// must still verify, and the overflow must be shed with ServiceBusyException right away
+// instead of parking the calling (servlet) threads behind the hashing pool.
+class PasswordHashingServiceLoadTest {
+
+    private static final int CALLERS = 48;
+    // cost 12 is ~100-300 ms per hash on common hardware, far above a rejection's latency
+    private static final int COST = 12;
+
+    private PasswordHashingService service;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        PasswordHashingProperties props = new PasswordHashingProperties(2, 4, 2, 0, COST, COST);
+        CalibratedBcryptEncoder encoder = new CalibratedBcryptEncoder(props.targetHashMs(), props.minCost(), props.maxCost());
+        service = new PasswordHashingService(encoder, props, new SimpleMeterRegistry());
+        callers = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        service.shutdown();
+    }
+
+    @Test
+    void burstAboveCapacityIsShedFastAndAcceptedHashesStayValid() throws Exception {
+        String hash = service.encode("correct horse"); // also calibrates outside the burst
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Outcome>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(callers.submit(() -> {
+                start.await();
+                long t0 = System.nanoTime();
+                try {
+                    boolean ok = service.matches("correct horse", hash);
+                    return new Outcome(ok, false, System.nanoTime() - t0);
+                } catch (ServiceBusyException e) {
+                    return new Outcome(false, true, System.nanoTime() - t0);
+                }
+            }));
+        }
+        start.countDown();
+
+        int accepted = 0;
+        int rejected = 0;
+        long slowestRejectionNanos = 0;
+        long slowestAcceptedNanos = 0;
+        for (Future<Outcome> f : futures) {
+            Outcome o = f.get(2, TimeUnit.MINUTES);
+            if (o.rejected()) {
+                rejected++;
+                slowestRejectionNanos = Math.max(slowestRejectionNanos, o.nanos());
+            } else {
+                assertTrue(o.matched(), "an accepted check must verify the password");
+                accepted++;
+                slowestAcceptedNanos = Math.max(slowestAcceptedNanos, o.nanos());
+            }
+        }
+
+        assertEquals(CALLERS, accepted + rejected);
+        assertTrue(accepted >= 1, "some sign-ins must get through");
+        assertTrue(rejected >= 1, "a burst above pool + queue capacity must be shed");
+        // a rejected caller must not have waited for hashing: well under the slowest accepted one
+        assertTrue(slowestRejectionNanos < slowestAcceptedNanos / 2,
+                "rejections took " + TimeUnit.NANOSECONDS.toMillis(slowestRejectionNanos)
+                        + " ms, accepted up to " + TimeUnit.NANOSECONDS.toMillis(slowestAcceptedNanos) + " ms");
+    }
+
+    private record Outcome(boolean matched, boolean rejected, long nanos) {}
+}
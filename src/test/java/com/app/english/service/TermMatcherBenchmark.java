@@ -0,0 +1,77 @@
+package com.app.english.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Per-answer cost of typed-answer classification over a 500-word task: a quarter of the
+// answers exact, a quarter without accents, a quarter with one deletion, a quarter wrong.
+// Input normalization and folding are included, as in AnswerKey.classify.
+// Run: ./mvnw test-compile, then main() from the IDE (or org.openjdk.jmh.Main on the test classpath).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TermMatcherBenchmark {
+
+    private static final int WORDS = 500;
+    private static final String LETTERS = "abcdefghijklmnoprstuwyząćęłńóśźż";
+
+    @Param({"1", "2"})
+    public int maxDistance;
+
+    private TermMatcher[] matchers;
+    private String[] answers;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        matchers = new TermMatcher[WORDS];
+        answers = new String[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = 4 + random.nextInt(9);
+            for (int j = 0; j < length; j++) sb.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+            String term = sb.toString();
+
+            matchers[i] = TermMatcher.compile(term, maxDistance, 4);
+            answers[i] = switch (i % 4) {
+                case 0 -> term;
+                case 1 -> TermMatcher.fold(term);
+                case 2 -> term.substring(1);
+                default -> "zzzz" + term;
+            };
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORDS)
+    public void classifyTask(Blackhole bh) {
+        for (int i = 0; i < WORDS; i++) {
+            String normalized = TermMatcher.normalize(answers[i]);
+            bh.consume(matchers[i].classify(normalized, TermMatcher.fold(normalized)));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TermMatcherBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,103 @@
+package com.app.english.service;
+
+import com.app.english.service.TermMatcher.Match;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TermMatcherTest {
+
+    private static final String ALPHABET = "abcdełłóżź ";
+
+    @Test
+    void classifiesExactAccentAndTypoAnswers() {
+        TermMatcher m = TermMatcher.compile("Żółw", 1, 4);
+
+        assertEquals(Match.EXACT, classify(m, "  żółw "));
+        assertEquals(Match.DIACRITICS_ONLY, classify(m, "zolw"));
+        assertEquals(Match.TYPO, classify(m, "zólwx"));
+        assertEquals(Match.WRONG, classify(m, "zebra"));
+    }
+
+    @Test
+    void shortTermsGetNoTypoAllowance() {
+        TermMatcher m = TermMatcher.compile("kot", 1, 4);
+
+        assertEquals(Match.DIACRITICS_ONLY, classify(m, "kót"));
+        assertEquals(Match.WRONG, classify(m, "kit"));
+    }
+
+    @Test
+    void foldsPolishLWithStroke() {
+        assertEquals("lodz", TermMatcher.fold(TermMatcher.normalize("Łódź")));
+    }
+
+    // Bit-parallel (<= 64 chars) and banded (> 64 chars) paths against a plain full DP.
+    @Test
+    void agreesWithPlainDynamicProgramming() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20_000; round++) {
+            int maxDistance = random.nextInt(4);
+            String term = randomText(random, 1 + random.nextInt(round % 10 == 0 ? 90 : 12));
+            String input = mutate(random, term, random.nextInt(5));
+
+            TermMatcher m = TermMatcher.compile(term, maxDistance, 1);
+            assertEquals(expected(term, input, maxDistance), classify(m, input),
+                    () -> "term=\"" + term + "\" input=\"" + input + "\" k=" + maxDistance);
+        }
+    }
+
+    private static Match classify(TermMatcher m, String input) {
+        String normalized = TermMatcher.normalize(input);
+        return m.classify(normalized, TermMatcher.fold(normalized));
+    }
+
+    private static Match expected(String term, String input, int maxDistance) {
+        String t = TermMatcher.normalize(term);
+        String i = TermMatcher.normalize(input);
+        if (t.equals(i)) return Match.EXACT;
+        String tf = TermMatcher.fold(t);
+        String inf = TermMatcher.fold(i);
+        if (tf.equals(inf)) return Match.DIACRITICS_ONLY;
+        if (maxDistance == 0 || tf.isEmpty()) return Match.WRONG;
+        return levenshtein(tf, inf) <= maxDistance ? Match.TYPO : Match.WRONG;
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) d[i][0] = i;
+        for (int j = 0; j <= b.length(); j++) d[0][j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        return sb.toString();
+    }
+
+    // Up to `edits` random insertions, deletions or substitutions.
+    private static String mutate(Random random, String s, int edits) {
+        StringBuilder sb = new StringBuilder(s);
+        for (int e = 0; e < edits; e++) {
+            int op = random.nextInt(3);
+            char c = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+            if (op == 0 || sb.isEmpty()) {
+                sb.insert(random.nextInt(sb.length() + 1), c);
+            } else if (op == 1) {
+                sb.deleteCharAt(random.nextInt(sb.length()));
+            } else {
+                sb.setCharAt(random.nextInt(sb.length()), c);
+            }
+        }
+        return sb.toString();
+    }
+}